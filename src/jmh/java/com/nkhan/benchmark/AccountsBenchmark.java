@@ -0,0 +1,86 @@
+package com.nkhan.benchmark;
+
+import com.nkhan.accounts.model.AccountType;
+import com.nkhan.accounts.model.Accounts;
+import com.nkhan.accounts.service.AccountService;
+import com.nkhan.accounts.service.impl.AccountServiceImpl;
+import com.nkhan.accounts.store.AccountIdGenerator;
+import com.nkhan.accounts.store.AccountStore;
+import com.nkhan.customer.model.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-customer cost of resolving {@code Customer.account} for a list of customers: the former per-customer
+ * {@code @SchemaMapping} body ({@code perCustomer}: a {@code Mono}, {@code UUID.randomUUID()} and a builder
+ * each) against one {@code @BatchMapping} lookup through {@link AccountService} ({@code batched}).
+ * Scores are per customer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(AccountsBenchmark.CUSTOMERS)
+public class AccountsBenchmark {
+
+    static final int CUSTOMERS = 10_000;
+
+    private List<Customer> customers;
+    private AccountService accountService;
+
+    @Setup
+    public void setUp() {
+        customers = new ArrayList<>(CUSTOMERS);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customers.add(new Customer("customer-" + i, i, "city", "state", "country", "000000", "address " + i));
+        }
+        accountService = new AccountServiceImpl(new AccountStore(), new AccountIdGenerator());
+        // Accounts are opened on first lookup; measure the steady state
+        batched();
+    }
+
+    @Benchmark
+    public void perCustomer(Blackhole blackhole) {
+        for (Customer customer : customers) {
+            blackhole.consume(legacyGetAccounts(customer));
+        }
+    }
+
+    @Benchmark
+    public List<Accounts> batched() {
+        List<Integer> customerIds = new ArrayList<>(customers.size());
+        for (Customer customer : customers) {
+            customerIds.add(customer.customerId());
+        }
+        return accountService.findByCustomerIds(customerIds);
+    }
+
+    private static Mono<Accounts> legacyGetAccounts(Customer customer) {
+        final AccountType type =
+                ThreadLocalRandom.current().nextBoolean() ? AccountType.CURRENT : AccountType.SAVING;
+        return Mono.just(Accounts.builder()
+                .id(UUID.randomUUID())
+                .accountType(type)
+                .amount(ThreadLocalRandom.current().nextInt(100, 10000))
+                .build());
+    }
+}
@@ -0,0 +1,58 @@
+package com.nkhan.benchmark;
+
+import com.nkhan.GraphqlBasicApplication;
+import com.nkhan.customer.loader.CustomerBulkLoader;
+import graphql.ExecutionResult;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The application context, started once per trial without a web server, with the customer load finished.
+ * Benchmarks execute through the same {@link ExecutionGraphQlService} the HTTP endpoint uses, so data
+ * loaders, instrumentation and the document cache all take part.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    ConfigurableApplicationContext context;
+    ExecutionGraphQlService graphQlService;
+
+    @Setup(Level.Trial)
+    public void start() {
+        SpringApplication application = new SpringApplication(GraphqlBasicApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setDefaultProperties(Map.of(
+                "logging.level.root", "WARN",
+                "logging.level.com.nkhan", "WARN"));
+        context = application.run();
+        context.getBean(CustomerBulkLoader.class).completion().join();
+        graphQlService = context.getBean(ExecutionGraphQlService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    ExecutionResult execute(String query) {
+        ExecutionResult result = graphQlService
+                .execute(new DefaultExecutionGraphQlRequest(query, null, null, null, "benchmark", Locale.ENGLISH))
+                .block()
+                .getExecutionResult();
+        if (!result.getErrors().isEmpty()) {
+            throw new IllegalStateException("Benchmark query failed: " + result.getErrors());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,119 @@
+package com.nkhan.benchmark;
+
+import com.nkhan.GraphqlBasicApplication;
+import com.nkhan.payment.service.PaymentService;
+import com.nkhan.payment.service.impl.PaymentServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test for blocking fetchers: one operation is a wave of {@code concurrency} simultaneous
+ * {@code paymentMethods} executions whose lookup blocks for {@code latencyMillis}, offloaded either to
+ * virtual threads or to Reactor's bounded elastic scheduler (capped at ten threads per core).
+ * The score is the time until the whole wave has completed.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class BlockingExecutionBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class BlockingApplication {
+
+        @Param({"VIRTUAL_THREADS", "BOUNDED_ELASTIC"})
+        String executor;
+
+        @Param("5000")
+        int concurrency;
+
+        @Param({"10", "50"})
+        int latencyMillis;
+
+        ConfigurableApplicationContext context;
+        ExecutionGraphQlService graphQlService;
+
+        @Setup(Level.Trial)
+        public void start() {
+            SpringApplication application = new SpringApplication(GraphqlBasicApplication.class, SlowPayments.class);
+            application.setWebApplicationType(WebApplicationType.NONE);
+            application.setDefaultProperties(Map.of(
+                    "logging.level.root", "WARN",
+                    "logging.level.com.nkhan", "WARN"));
+            // Arguments, unlike default properties, take precedence over application.properties
+            context = application.run(
+                    "--graphql.execution.blocking.executor=" + executor,
+                    "--graphql.execution.blocking.limits[payments]=" + concurrency,
+                    "--graphql.execution.blocking.acquire-timeout=60s",
+                    "--benchmark.payment-latency=" + latencyMillis + "ms");
+            graphQlService = context.getBean(ExecutionGraphQlService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+    }
+
+    /** The real lookup behind a blocking call of fixed latency, like a JDBC query. */
+    static class SlowPayments {
+
+        @Bean
+        @Primary
+        PaymentService slowPaymentService(Environment environment) {
+            Duration latency = environment.getProperty("benchmark.payment-latency", Duration.class, Duration.ZERO);
+            PaymentServiceImpl payments = new PaymentServiceImpl();
+            return userId -> {
+                try {
+                    Thread.sleep(latency);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return payments.findByUserId(userId);
+            };
+        }
+    }
+
+    @Benchmark
+    public long wave(BlockingApplication application) {
+        return Flux.range(0, application.concurrency)
+                .flatMap(i -> application.graphQlService.execute(new DefaultExecutionGraphQlRequest(
+                        Queries.PAYMENT_METHODS, null, null, null, "load-" + i, Locale.ENGLISH)),
+                        application.concurrency)
+                .filter(response -> !response.getErrors().isEmpty())
+                .count()
+                .map(failures -> {
+                    if (failures > 0) {
+                        throw new IllegalStateException(failures + " executions failed");
+                    }
+                    return failures;
+                })
+                .block();
+    }
+}
@@ -0,0 +1,71 @@
+package com.nkhan.benchmark;
+
+import com.nkhan.cache.provider.CaffeinePreparsedDocumentProvider;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.language.Document;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.validation.ValidationError;
+import graphql.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.graphql.execution.GraphQlSource;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Parse and validate of a document on every request ({@code cold}) versus a hit in the document cache
+ * configured by {@code OperationalCachingConfig} ({@code cached}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DocumentBenchmark {
+
+    @Param({"customers", "customersWithOrders", "search", "paymentMethods", "allScalars"})
+    public String query;
+
+    private String document;
+    private GraphQLSchema schema;
+    private CaffeinePreparsedDocumentProvider documents;
+    private Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        document = Queries.get(query);
+        schema = application.context.getBean(GraphQlSource.class).schema();
+        documents = application.context.getBean(CaffeinePreparsedDocumentProvider.class);
+        parseAndValidate = input -> {
+            Document parsed = Parser.parse(input.getQuery());
+            List<ValidationError> errors = new Validator().validateDocument(schema, parsed, Locale.ENGLISH);
+            return errors.isEmpty() ? new PreparsedDocumentEntry(parsed) : new PreparsedDocumentEntry(errors);
+        };
+        documents.get(document, q -> parseAndValidate.apply(ExecutionInput.newExecutionInput(q).build()));
+    }
+
+    @Benchmark
+    public PreparsedDocumentEntry cold() {
+        return parseAndValidate.apply(ExecutionInput.newExecutionInput(document).build());
+    }
+
+    @Benchmark
+    public PreparsedDocumentEntry cached() {
+        return documents.get(document, q -> parseAndValidate.apply(ExecutionInput.newExecutionInput(q).build()));
+    }
+}
@@ -0,0 +1,52 @@
+package com.nkhan.benchmark;
+
+import graphql.ExecutionResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end execution through the application's {@code ExecutionGraphQlService} (document cache,
+ * instrumentation, data loaders and type resolvers included), without the HTTP transport.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutionBenchmark {
+
+    @Benchmark
+    public ExecutionResult customers(ApplicationState application) {
+        return application.execute(Queries.CUSTOMERS);
+    }
+
+    @Benchmark
+    public ExecutionResult customersWithOrders(ApplicationState application) {
+        return application.execute(Queries.CUSTOMERS_WITH_ORDERS);
+    }
+
+    /** {@code Customer.account} through {@code @BatchMapping}. */
+    @Benchmark
+    public ExecutionResult customersWithAccounts(ApplicationState application) {
+        return application.execute(Queries.CUSTOMERS_WITH_ACCOUNTS);
+    }
+
+    /** Union members resolved through {@code SealedTypeResolver}. */
+    @Benchmark
+    public ExecutionResult search(ApplicationState application) {
+        return application.execute(Queries.SEARCH);
+    }
+
+    /** Interface implementations resolved through {@code SealedTypeResolver}. */
+    @Benchmark
+    public ExecutionResult paymentMethods(ApplicationState application) {
+        return application.execute(Queries.PAYMENT_METHODS);
+    }
+}
@@ -0,0 +1,60 @@
+package com.nkhan.benchmark;
+
+import java.util.Map;
+
+/**
+ * Documents exercised by the benchmarks, against the schemas in {@code graphql/*.graphqls}.
+ */
+final class Queries {
+
+    static final String CUSTOMERS = """
+            query { customers { customerId name city state country pinCode address } }""";
+
+    static final String CUSTOMERS_WITH_ORDERS = """
+            query { customers { customerId name city orders { orderId description } } }""";
+
+    static final String CUSTOMERS_WITH_ACCOUNTS = """
+            query { customers { customerId name account { id amount accountType } } }""";
+
+    static final String SEARCH = """
+            query {
+              search(keyword: "phone") {
+                __typename
+                ... on User { id username email }
+                ... on Products { id name price }
+                ... on Article { id title content }
+              }
+            }""";
+
+    static final String PAYMENT_METHODS = """
+            query {
+              paymentMethods(userId: "u1") {
+                __typename id type createdAt
+                ... on CreditCard { last4 brand }
+                ... on BankAccount { bankName accountNumberMasked }
+                ... on Wallet { balance currency }
+              }
+            }""";
+
+    static final String ALL_SCALARS = """
+            query {
+              get {
+                id age amount name isValid distance currentYear currentMonth
+                bigDecimal bigInteger date time dateTime role
+              }
+            }""";
+
+    private static final Map<String, String> BY_NAME = Map.of(
+            "customers", CUSTOMERS,
+            "customersWithOrders", CUSTOMERS_WITH_ORDERS,
+            "search", SEARCH,
+            "paymentMethods", PAYMENT_METHODS,
+            "allScalars", ALL_SCALARS);
+
+    private Queries() {
+    }
+
+    static String get(String name) {
+        return BY_NAME.get(name);
+    }
+}
@@ -0,0 +1,74 @@
+package com.nkhan.benchmark;
+
+import com.nkhan.union.model.ArticleDto;
+import com.nkhan.union.search.SearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SearchIndex} latency over a synthetic corpus whose word frequencies follow a Zipf-like curve,
+ * sampled so the JSON result carries p50/p99. Queries: a rare word, a mid-frequency word, two words, a
+ * frequent word below the prefix length and a three-character prefix; each fetches one page of 20.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SearchBenchmark {
+
+    private static final int VOCABULARY = 50_000;
+    private static final int WORDS_PER_DOCUMENT = 12;
+
+    @Param({"1000000"})
+    public int documents;
+
+    @Param({"w40000", "w300", "w300 w2000", "w9", "w12"})
+    public String query;
+
+    private SearchIndex<ArticleDto> index;
+
+    @Setup
+    public void setUp() {
+        index = new SearchIndex<>(ArticleDto::id, a -> a.title() + ' ' + a.content(), 3, 50);
+        SplittableRandom random = new SplittableRandom(42);
+        List<ArticleDto> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < documents; i++) {
+            StringBuilder content = new StringBuilder();
+            for (int w = 0; w < WORDS_PER_DOCUMENT; w++) {
+                content.append('w').append(zipf(random)).append(' ');
+            }
+            batch.add(new ArticleDto("a" + i, "w" + zipf(random), content.toString()));
+            if (batch.size() == 10_000) {
+                index.upsertAll(batch);
+                batch.clear();
+            }
+        }
+        index.upsertAll(batch);
+    }
+
+    @Benchmark
+    public List<ArticleDto> search() {
+        return index.search(query, 20, null);
+    }
+
+    /** Word rank with probability roughly proportional to 1/rank. */
+    private static int zipf(SplittableRandom random) {
+        return (int) Math.floor(Math.pow(VOCABULARY + 1, random.nextDouble())) - 1;
+    }
+}
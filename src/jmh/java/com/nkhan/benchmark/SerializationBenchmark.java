@@ -0,0 +1,107 @@
+package com.nkhan.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nkhan.GraphqlBasicApplication;
+import com.nkhan.scalar.support.FastScalars;
+import com.nkhan.scalar.support.GraphQlTransportCodecs;
+import graphql.ExecutionResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code AllScalarType} through the scalars' coercion ({@code execute}), the resulting specification map
+ * through the GraphQL transports' {@link ObjectMapper} ({@code writeJson}), and both together
+ * ({@code response}), with the extended scalars as they are or in high-throughput mode
+ * ({@code graphql.scalars.high-throughput}, executed as the HTTP and WebSocket transports do).
+ * Run with {@code -prof gc} to compare allocations per response ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ScalarApplication {
+
+        @Param({"true", "false"})
+        boolean highThroughput;
+
+        ConfigurableApplicationContext context;
+        ExecutionGraphQlService graphQlService;
+        ObjectMapper objectMapper;
+        Map<String, Object> response;
+
+        @Setup(Level.Trial)
+        public void start() {
+            SpringApplication application = new SpringApplication(GraphqlBasicApplication.class);
+            application.setWebApplicationType(WebApplicationType.NONE);
+            application.setDefaultProperties(Map.of(
+                    "logging.level.root", "WARN",
+                    "logging.level.com.nkhan", "WARN"));
+            // Arguments, unlike default properties, take precedence over application.properties
+            context = application.run("--graphql.scalars.high-throughput=" + highThroughput);
+            graphQlService = context.getBean(ExecutionGraphQlService.class);
+            objectMapper = context.getBean(GraphQlTransportCodecs.class).objectMapper();
+            response = execute();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+
+        Map<String, Object> execute() {
+            var request = new DefaultExecutionGraphQlRequest(Queries.ALL_SCALARS, null, null, null,
+                    "benchmark", Locale.ENGLISH);
+            if (highThroughput) {
+                request.configureExecutionInput((input, builder) ->
+                        builder.graphQLContext(Map.of(FastScalars.PASS_THROUGH, true)).build());
+            }
+            ExecutionResult result = graphQlService.execute(request)
+                    .block()
+                    .getExecutionResult();
+            if (!result.getErrors().isEmpty()) {
+                throw new IllegalStateException("Benchmark query failed: " + result.getErrors());
+            }
+            return result.toSpecification();
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> execute(ScalarApplication application) {
+        return application.execute();
+    }
+
+    @Benchmark
+    public byte[] writeJson(ScalarApplication application) throws JsonProcessingException {
+        return application.objectMapper.writeValueAsBytes(application.response);
+    }
+
+    @Benchmark
+    public byte[] response(ScalarApplication application) throws JsonProcessingException {
+        return application.objectMapper.writeValueAsBytes(application.execute());
+    }
+}
@@ -0,0 +1,97 @@
+package com.nkhan.benchmark;
+
+import com.nkhan.payment.model.PaymentMethod;
+import com.nkhan.payment.model.WalletDto;
+import com.nkhan.payment.service.impl.PaymentServiceImpl;
+import com.nkhan.schema.SealedTypeResolver;
+import com.nkhan.union.model.ArticleDto;
+import com.nkhan.union.model.ProductDto;
+import com.nkhan.union.model.SearchResult;
+import com.nkhan.union.model.UserDto;
+import graphql.TypeResolutionEnvironment;
+import graphql.execution.TypeResolutionParameters;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.TypeResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.graphql.execution.ClassNameTypeResolver;
+import org.springframework.graphql.execution.GraphQlSource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving the values of one {@code paymentMethods} or {@code search} result to their object types:
+ * the class-identity {@link SealedTypeResolver} against the {@link ClassNameTypeResolver} it replaced,
+ * configured as {@code AppConfig} used to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TypeResolverBenchmark {
+
+    @Param({"PaymentMethod", "SearchResult"})
+    String abstractType;
+
+    private TypeResolver classNameResolver;
+    private TypeResolver sealedResolver;
+    private TypeResolutionEnvironment[] environments;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        GraphQLSchema schema = application.context.getBean(GraphQlSource.class).schema();
+        ClassNameTypeResolver classNames = new ClassNameTypeResolver();
+        classNames.addMapping(WalletDto.class, "Wallet");
+        classNames.addMapping(ArticleDto.class, "Article");
+        classNames.addMapping(ProductDto.class, "Products");
+        classNames.addMapping(UserDto.class, "User");
+        classNameResolver = classNames;
+
+        List<?> values;
+        if (abstractType.equals("PaymentMethod")) {
+            sealedResolver = SealedTypeResolver.of(abstractType, PaymentMethod.class);
+            values = new PaymentServiceImpl().findByUserId("u1");
+        } else {
+            sealedResolver = SealedTypeResolver.of(abstractType, SearchResult.class);
+            values = List.of(
+                    UserDto.builder().id("u1").build(),
+                    ProductDto.builder().id("p1").build(),
+                    ArticleDto.builder().id("a1").build(),
+                    ProductDto.builder().id("p2").build());
+        }
+        environments = values.stream()
+                .map(value -> TypeResolutionParameters.newParameters()
+                        .value(value)
+                        .schema(schema)
+                        .fieldType(schema.getType(abstractType))
+                        .build())
+                .toArray(TypeResolutionEnvironment[]::new);
+    }
+
+    @Benchmark
+    public void classNameResolver(Blackhole blackhole) {
+        for (TypeResolutionEnvironment environment : environments) {
+            blackhole.consume(classNameResolver.getType(environment));
+        }
+    }
+
+    @Benchmark
+    public void sealedResolver(Blackhole blackhole) {
+        for (TypeResolutionEnvironment environment : environments) {
+            blackhole.consume(sealedResolver.getType(environment));
+        }
+    }
+}
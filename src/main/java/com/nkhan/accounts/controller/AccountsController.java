@@ -1,25 +1,29 @@
 package com.nkhan.accounts.controller;
 
-import com.nkhan.accounts.model.AccountType;
 import com.nkhan.accounts.model.Accounts;
+import com.nkhan.accounts.service.AccountService;
 import com.nkhan.customer.model.Customer;
-import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.stereotype.Controller;
-import reactor.core.publisher.Mono;
 
-import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.ArrayList;
+import java.util.List;
 
 @Controller
+@RequiredArgsConstructor
 public class AccountsController {
-    @SchemaMapping(typeName = "Customer",  field = "account")
-    public Mono<Accounts> getAccounts(Customer customer) {
-        final AccountType type =
-                ThreadLocalRandom.current().nextBoolean() ? AccountType.CURRENT : AccountType.SAVING;
-        return Mono.just(Accounts.builder()
-                        .id(UUID.randomUUID())
-                        .accountType(type)
-                        .amount(ThreadLocalRandom.current().nextInt(100, 10000))
-                .build());
+    private final AccountService accountService;
+
+    /**
+     * One call per execution level for all customers in it, instead of one resolver call per customer.
+     */
+    @BatchMapping(typeName = "Customer", field = "account")
+    public List<Accounts> getAccounts(List<Customer> customers) {
+        List<Integer> customerIds = new ArrayList<>(customers.size());
+        for (Customer customer : customers) {
+            customerIds.add(customer.customerId());
+        }
+        return accountService.findByCustomerIds(customerIds);
     }
 }
@@ -0,0 +1,13 @@
+package com.nkhan.accounts.service;
+
+import com.nkhan.accounts.model.Accounts;
+
+import java.util.List;
+
+public interface AccountService {
+
+    /**
+     * Accounts of the given customers, in the same order; a {@code null} id gets a {@code null} account.
+     */
+    List<Accounts> findByCustomerIds(List<Integer> customerIds);
+}
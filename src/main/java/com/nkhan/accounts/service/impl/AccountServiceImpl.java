@@ -0,0 +1,50 @@
+package com.nkhan.accounts.service.impl;
+
+import com.nkhan.accounts.model.AccountType;
+import com.nkhan.accounts.model.Accounts;
+import com.nkhan.accounts.service.AccountService;
+import com.nkhan.accounts.store.AccountIdGenerator;
+import com.nkhan.accounts.store.AccountStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Accounts are opened on first lookup and kept in the {@link AccountStore}, so a customer sees the same
+ * account on every request.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountServiceImpl implements AccountService {
+    private final AccountStore accountStore;
+    private final AccountIdGenerator idGenerator;
+
+    @Override
+    public List<Accounts> findByCustomerIds(List<Integer> customerIds) {
+        int[] ids = new int[customerIds.size()];
+        int count = 0;
+        for (Integer customerId : customerIds) {
+            if (customerId != null) {
+                ids[count++] = customerId;
+            }
+        }
+        Accounts[] found = accountStore.computeIfAbsent(
+                count == ids.length ? ids : Arrays.copyOf(ids, count), customerId -> open());
+        List<Accounts> result = new ArrayList<>(customerIds.size());
+        int next = 0;
+        for (Integer customerId : customerIds) {
+            result.add(customerId == null ? null : found[next++]);
+        }
+        return result;
+    }
+
+    private Accounts open() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new Accounts(idGenerator.next(), random.nextInt(100, 10000),
+                random.nextBoolean() ? AccountType.CURRENT : AccountType.SAVING);
+    }
+}
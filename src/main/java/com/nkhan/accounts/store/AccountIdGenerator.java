@@ -0,0 +1,22 @@
+package com.nkhan.accounts.store;
+
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Version 4 (random) UUIDs drawn from {@link ThreadLocalRandom} instead of {@link UUID#randomUUID()}'s
+ * shared {@link java.security.SecureRandom}: no contention and no entropy blocking. Account ids only need
+ * to be unique, not unguessable.
+ */
+@Component
+public class AccountIdGenerator {
+
+    public UUID next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long lsb = (random.nextLong() & ~(0xC000000000000000L)) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+}
@@ -0,0 +1,118 @@
+package com.nkhan.accounts.store;
+
+import com.nkhan.accounts.model.Accounts;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+
+/**
+ * In-memory accounts keyed by primitive customer id: an open-addressing table with linear probing, so
+ * lookups neither box the id nor hash a {@link com.nkhan.customer.model.Customer}. Work is done per batch:
+ * one read lock for all ids, and one write lock only if some of them have no account yet.
+ */
+@Component
+public class AccountStore {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private int[] keys = new int[16];
+    private Accounts[] values = new Accounts[16];
+    private int size;
+
+    /**
+     * Accounts of {@code customerIds}, in order, creating the missing ones with {@code factory}.
+     */
+    public Accounts[] computeIfAbsent(int[] customerIds, IntFunction<Accounts> factory) {
+        Accounts[] result = new Accounts[customerIds.length];
+        int missing = 0;
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < customerIds.length; i++) {
+                result[i] = get(customerIds[i]);
+                if (result[i] == null) {
+                    missing++;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (missing == 0) {
+            return result;
+        }
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < customerIds.length; i++) {
+                if (result[i] == null) {
+                    result[i] = putIfAbsent(customerIds[i], factory);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return result;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Accounts get(int customerId) {
+        int mask = keys.length - 1;
+        int slot = mix(customerId) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == customerId) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    private Accounts putIfAbsent(int customerId, IntFunction<Accounts> factory) {
+        Accounts existing = get(customerId);
+        if (existing != null) {
+            return existing;
+        }
+        if (size + 1 > keys.length * LOAD_FACTOR) {
+            resize();
+        }
+        Accounts created = factory.apply(customerId);
+        insert(customerId, created);
+        size++;
+        return created;
+    }
+
+    private void insert(int customerId, Accounts accounts) {
+        int mask = keys.length - 1;
+        int slot = mix(customerId) & mask;
+        while (values[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = customerId;
+        values[slot] = accounts;
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        Accounts[] oldValues = values;
+        keys = new int[oldKeys.length << 1];
+        values = new Accounts[oldKeys.length << 1];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
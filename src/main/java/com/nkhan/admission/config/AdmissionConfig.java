@@ -0,0 +1,56 @@
+package com.nkhan.admission.config;
+
+import com.nkhan.admission.support.AdaptiveConcurrencyLimit;
+import com.nkhan.admission.support.AdmissionInterceptor;
+import com.nkhan.admission.support.ClientRateLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Per-client rate limits and a global adaptive concurrency limit ahead of every other interceptor, so a
+ * rejected request costs neither a document parse nor a cache lookup.
+ * <p>
+ * Besides {@code graphql.admission.rejected}, the limit and the operations in flight are published as
+ * {@code graphql.admission.concurrency.limit} and {@code graphql.admission.concurrency.in-flight}, and
+ * the per-client buckets as the {@code graphql.admission.clients} cache.
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+@ConditionalOnProperty(prefix = "graphql.admission", name = "enabled", matchIfMissing = true)
+@ConditionalOnWebApplication
+public class AdmissionConfig {
+
+    @Bean
+    public ClientRateLimiter clientRateLimiter(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        var limiter = new ClientRateLimiter(properties.rate());
+        CaffeineCacheMetrics.monitor(meterRegistry, limiter.buckets(), "graphql.admission.clients");
+        return limiter;
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimit adaptiveConcurrencyLimit(AdmissionProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        var limit = new AdaptiveConcurrencyLimit(properties.concurrency());
+        Gauge.builder("graphql.admission.concurrency.limit", limit, AdaptiveConcurrencyLimit::limit)
+                .register(meterRegistry);
+        Gauge.builder("graphql.admission.concurrency.in-flight", limit, AdaptiveConcurrencyLimit::inFlight)
+                .register(meterRegistry);
+        return limit;
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public AdmissionInterceptor admissionInterceptor(AdmissionProperties properties, ClientRateLimiter rateLimiter,
+                                                     AdaptiveConcurrencyLimit concurrencyLimit,
+                                                     MeterRegistry meterRegistry) {
+        return new AdmissionInterceptor(properties.clientKeyHeader(), rateLimiter, concurrencyLimit, meterRegistry);
+    }
+}
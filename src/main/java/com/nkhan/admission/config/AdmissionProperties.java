@@ -0,0 +1,60 @@
+package com.nkhan.admission.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Admission control in front of GraphQL execution.
+ *
+ * @param enabled         when off, every request is executed
+ * @param clientKeyHeader header identifying the client; requests without it are keyed by remote address
+ * @param rate            per-client request rate
+ * @param concurrency     global limit on operations in flight
+ */
+@ConfigurationProperties(prefix = "graphql.admission")
+public record AdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("X-Api-Key") String clientKeyHeader,
+        @DefaultValue Rate rate,
+        @DefaultValue Concurrency concurrency
+) {
+
+    /**
+     * @param permitsPerSecond sustained requests per second for a client without an entry in {@code clients}
+     * @param burst            requests a client may send at once after being idle
+     * @param clients          sustained requests per second by client key
+     * @param maxClients       clients tracked at once; the least recently seen are forgotten first
+     */
+    public record Rate(
+            @DefaultValue("200") double permitsPerSecond,
+            @DefaultValue("400") int burst,
+            Map<String, Double> clients,
+            @DefaultValue("100000") long maxClients
+    ) {
+        public Rate {
+            clients = clients == null ? Map.of() : Map.copyOf(clients);
+        }
+
+        public double permitsPerSecond(String client) {
+            return clients.getOrDefault(client, permitsPerSecond);
+        }
+    }
+
+    /**
+     * @param initialLimit     operations in flight allowed at startup
+     * @param minLimit         floor the limit never shrinks below
+     * @param maxLimit         ceiling the limit never grows beyond
+     * @param latencyThreshold an operation slower than this shrinks the limit
+     * @param backoffRatio     factor the limit is multiplied by when it shrinks
+     */
+    public record Concurrency(
+            @DefaultValue("200") int initialLimit,
+            @DefaultValue("20") int minLimit,
+            @DefaultValue("2000") int maxLimit,
+            @DefaultValue("1s") Duration latencyThreshold,
+            @DefaultValue("0.9") double backoffRatio
+    ) {}
+}
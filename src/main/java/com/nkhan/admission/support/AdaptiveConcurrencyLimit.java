@@ -0,0 +1,80 @@
+package com.nkhan.admission.support;
+
+import com.nkhan.admission.config.AdmissionProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Global limit on operations in flight, tuned by AIMD on observed latency.
+ * <p>
+ * Every operation that completes within {@code latencyThreshold} while the limit is at least half used
+ * grows the limit by {@code 1 / limit}, so roughly by one per limit's worth of operations. A slower one
+ * multiplies it by {@code backoffRatio}, at most once per threshold, so a single burst of slow operations
+ * backs off once rather than once per operation. The limit stays within {@code [minLimit, maxLimit]}.
+ * All state is updated with CAS; nothing blocks.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final AdmissionProperties.Concurrency properties;
+    private final long thresholdNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong lastDecrease;
+
+    public AdaptiveConcurrencyLimit(AdmissionProperties.Concurrency properties) {
+        this.properties = properties;
+        this.thresholdNanos = properties.latencyThreshold().toNanos();
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(properties.initialLimit()));
+        this.lastDecrease = new AtomicLong(System.nanoTime() - thresholdNanos);
+    }
+
+    public boolean tryAcquire() {
+        int limit = limit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot and feeds the operation's latency into the limit.
+     */
+    public void release(long latencyNanos) {
+        int used = inFlight.getAndDecrement();
+        if (latencyNanos > thresholdNanos) {
+            long now = System.nanoTime();
+            long last = lastDecrease.get();
+            if (now - last >= thresholdNanos && lastDecrease.compareAndSet(last, now)) {
+                update(limit -> Math.max(properties.minLimit(), limit * properties.backoffRatio()));
+            }
+        } else if (used * 2 >= limit()) {
+            update(limit -> Math.min(properties.maxLimit(), limit + 1 / limit));
+        }
+    }
+
+    /**
+     * Releases a slot without a latency sample, e.g. for a cancelled operation.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int limit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private void update(DoubleUnaryOperator change) {
+        limitBits.updateAndGet(bits -> Double.doubleToLongBits(change.applyAsDouble(Double.longBitsToDouble(bits))));
+    }
+}
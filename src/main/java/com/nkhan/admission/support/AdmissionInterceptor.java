@@ -0,0 +1,101 @@
+package com.nkhan.admission.support;
+
+import graphql.ErrorClassification;
+import graphql.ExecutionResult;
+import graphql.GraphqlErrorBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits or rejects each request before its document is parsed or validated: first against the client's
+ * {@link ClientRateLimiter rate}, then against the global {@link AdaptiveConcurrencyLimit}. A rejected
+ * request gets a single {@code TOO_MANY_REQUESTS} error with a {@code retryAfter} extension (seconds) and,
+ * over HTTP, a {@code Retry-After} header.
+ * <p>
+ * Clients are identified by {@code clientKeyHeader}, else by remote address. An admitted operation holds
+ * its concurrency slot until its response is ready; for subscriptions and {@code @defer} that is the
+ * first payload. Rejections are counted in {@code graphql.admission.rejected} by {@code reason}
+ * ({@code rate} or {@code concurrency}).
+ */
+public class AdmissionInterceptor implements WebGraphQlInterceptor {
+
+    public static final ErrorClassification TOO_MANY_REQUESTS = ErrorClassification.errorClassification("TOO_MANY_REQUESTS");
+
+    private final String clientKeyHeader;
+    private final ClientRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final Counter rateRejected;
+    private final Counter concurrencyRejected;
+
+    public AdmissionInterceptor(String clientKeyHeader, ClientRateLimiter rateLimiter,
+                                AdaptiveConcurrencyLimit concurrencyLimit, MeterRegistry meterRegistry) {
+        this.clientKeyHeader = clientKeyHeader;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimit = concurrencyLimit;
+        this.rateRejected = rejected("rate", meterRegistry);
+        this.concurrencyRejected = rejected("concurrency", meterRegistry);
+    }
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        long waitNanos = rateLimiter.tryAcquire(clientKey(request));
+        if (waitNanos > 0) {
+            rateRejected.increment();
+            return Mono.just(reject(request, "Rate limit exceeded, try again later", waitNanos));
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            concurrencyRejected.increment();
+            return Mono.just(reject(request, "Server is busy, try again later", TimeUnit.SECONDS.toNanos(1)));
+        }
+        long started = System.nanoTime();
+        return chain.next(request).doFinally(signal -> {
+            if (signal == SignalType.CANCEL) {
+                concurrencyLimit.release();
+            } else {
+                concurrencyLimit.release(System.nanoTime() - started);
+            }
+        });
+    }
+
+    private String clientKey(WebGraphQlRequest request) {
+        String key = request.getHeaders().getFirst(clientKeyHeader);
+        if (StringUtils.hasText(key)) {
+            return key;
+        }
+        InetSocketAddress address = request.getRemoteAddress();
+        return address == null ? "anonymous" : address.getHostString();
+    }
+
+    private static WebGraphQlResponse reject(WebGraphQlRequest request, String message, long waitNanos) {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        ExecutionResult result = ExecutionResult.newExecutionResult()
+                .addError(GraphqlErrorBuilder.newError()
+                        .message(message)
+                        .errorType(TOO_MANY_REQUESTS)
+                        .extensions(Map.of("retryAfter", retryAfter))
+                        .build())
+                .build();
+        WebGraphQlResponse response = new WebGraphQlResponse(
+                new DefaultExecutionGraphQlResponse(request.toExecutionInput(), result));
+        response.getResponseHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        return response;
+    }
+
+    private static Counter rejected(String reason, MeterRegistry meterRegistry) {
+        return Counter.builder("graphql.admission.rejected")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.nkhan.admission.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nkhan.admission.config.AdmissionProperties;
+
+import java.time.Duration;
+
+/**
+ * One {@link TokenBucket} per client key. Buckets of clients that have been idle long enough to refill
+ * completely carry no state worth keeping, so they expire after that time; {@code maxClients} bounds the
+ * rest.
+ */
+public class ClientRateLimiter {
+
+    private final AdmissionProperties.Rate properties;
+    private final Cache<String, TokenBucket> buckets;
+
+    public ClientRateLimiter(AdmissionProperties.Rate properties) {
+        this.properties = properties;
+        long refillSeconds = (long) Math.ceil(properties.burst() / minRate(properties));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxClients())
+                .expireAfterAccess(Duration.ofSeconds(Math.max(1, refillSeconds)))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return zero when {@code client} may proceed, otherwise the nanoseconds until it may
+     */
+    public long tryAcquire(String client) {
+        long now = System.nanoTime();
+        return buckets.get(client, c -> new TokenBucket(properties.permitsPerSecond(c), properties.burst(), now))
+                .tryAcquire(now);
+    }
+
+    public Cache<String, TokenBucket> buckets() {
+        return buckets;
+    }
+
+    private static double minRate(AdmissionProperties.Rate properties) {
+        return properties.clients().values().stream()
+                .mapToDouble(Double::doubleValue)
+                .reduce(properties.permitsPerSecond(), Math::min);
+    }
+}
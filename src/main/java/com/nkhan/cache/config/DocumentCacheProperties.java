@@ -0,0 +1,21 @@
+package com.nkhan.cache.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Budget for the parsed/validated document cache.
+ *
+ * @param maxEntries        upper bound on the number of cached documents
+ * @param maxSize           approximate upper bound on the memory retained by cached documents
+ * @param expireAfterAccess documents not used for this long are dropped
+ */
+@ConfigurationProperties(prefix = "graphql.cache.document")
+public record DocumentCacheProperties(
+        @DefaultValue("10000") long maxEntries,
+        @DefaultValue("64MB") DataSize maxSize,
+        @DefaultValue("1h") Duration expireAfterAccess
+) {}
@@ -0,0 +1,28 @@
+package com.nkhan.cache.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Per-field resolver metrics.
+ *
+ * @param enabled          record field and data loader metrics
+ * @param sampleRate       fraction of operations measured, from 0 to 1; unsampled operations cost one random draw
+ * @param trivialFields    also time fields served by the default property fetcher, usually not worth it
+ * @param percentiles      client-side percentiles published per timer
+ * @param histogram        publish histogram buckets so percentiles can be aggregated across instances
+ * @param maxTaggedFields  distinct {@code Type.field} tag pairs before further fields are folded into {@code other}
+ * @param allocation       record bytes allocated on the calling thread while fetchers run, per operation
+ */
+@ConfigurationProperties(prefix = "graphql.metrics.fields")
+public record FieldMetricsProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1.0") double sampleRate,
+        @DefaultValue("false") boolean trivialFields,
+        @DefaultValue({"0.5", "0.95", "0.99"}) List<Double> percentiles,
+        @DefaultValue("false") boolean histogram,
+        @DefaultValue("500") int maxTaggedFields,
+        @DefaultValue("false") boolean allocation
+) {}
@@ -1,24 +1,58 @@
 package com.nkhan.cache.config;
 
-import graphql.execution.preparsed.PreparsedDocumentEntry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nkhan.cache.instrumentation.CachePolicyInstrumentation;
+import com.nkhan.cache.instrumentation.FieldMetricsInstrumentation;
+import com.nkhan.cache.instrumentation.QueryCostInstrumentation;
+import com.nkhan.cache.provider.CaffeinePreparsedDocumentProvider;
+import com.nkhan.cache.provider.PersistedQueryDocumentProvider;
+import com.nkhan.cache.provider.PersistedQueryStore;
+import com.nkhan.cache.response.ResponseCache;
+import com.nkhan.cache.response.ResponseCacheInterceptor;
+import com.nkhan.scalar.support.GraphQlTransportCodecs;
 import graphql.execution.preparsed.PreparsedDocumentProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.dataloader.DataLoaderOptions;
+import org.dataloader.stats.SimpleStatisticsCollector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.annotation.Order;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.graphql.execution.DefaultBatchLoaderRegistry;
 
-import java.util.Map;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
 
 @Configuration
 @Slf4j
+@EnableConfigurationProperties({DocumentCacheProperties.class, PersistedQueryProperties.class,
+        QueryCostProperties.class, FieldMetricsProperties.class, ResponseCacheProperties.class})
 public class OperationalCachingConfig {
 
     @Bean
-    public GraphQlSourceBuilderCustomizer sourceBuilderCustomizer(PreparsedDocumentProvider provider){
-        return builder -> builder.configureGraphQl(configurer ->
-                configurer.preparsedDocumentProvider(provider));
+    public GraphQlSourceBuilderCustomizer sourceBuilderCustomizer(PreparsedDocumentProvider provider,
+                                                                  QueryCostProperties costProperties,
+                                                                  FieldMetricsProperties fieldMetricsProperties,
+                                                                  ResponseCacheProperties responseCacheProperties,
+                                                                  MeterRegistry meterRegistry){
+        return builder -> {
+            builder.configureGraphQl(configurer -> configurer.preparsedDocumentProvider(provider));
+            if (costProperties.enabled()) {
+                // Not a bean on purpose: Instrumentation beans are picked up by Boot as well
+                builder.instrumentation(List.of(new QueryCostInstrumentation(costProperties, meterRegistry)));
+            }
+            if (fieldMetricsProperties.enabled()) {
+                builder.instrumentation(List.of(new FieldMetricsInstrumentation(fieldMetricsProperties, meterRegistry)));
+            }
+            if (responseCacheProperties.enabled()) {
+                builder.instrumentation(List.of(new CachePolicyInstrumentation(responseCacheProperties.defaultMaxAge())));
+            }
+        };
     }
   /*
     @Bean
@@ -38,16 +72,63 @@ public class OperationalCachingConfig {
         };
     }*/
   @Bean
-  public PreparsedDocumentProvider preparsedDocumentProvider() {
-      Map<String, PreparsedDocumentEntry> cache = new ConcurrentHashMap<>();
-      return (executionInput, parseAndValidateFunction) ->
-              CompletableFuture.supplyAsync(() ->
-                      cache.computeIfAbsent(executionInput.getQuery(), query -> {
-                          log.debug("Cache miss for GraphQL query. Parsing and validating...");
-                          PreparsedDocumentEntry entry = parseAndValidateFunction.apply(executionInput);
-                          log.debug("Query cached successfully: {}", query);
-                          return entry;
-                      })
-              );
+  public CaffeinePreparsedDocumentProvider preparsedDocumentProvider(DocumentCacheProperties properties,
+                                                                     MeterRegistry meterRegistry) {
+      var provider = new CaffeinePreparsedDocumentProvider(properties);
+      CaffeineCacheMetrics.monitor(meterRegistry, provider.cache(), "graphql.documents");
+      return provider;
+  }
+
+  @Bean
+  public PersistedQueryStore persistedQueryStore(CaffeinePreparsedDocumentProvider documents,
+                                                 PersistedQueryProperties properties,
+                                                 ObjectMapper objectMapper,
+                                                 MeterRegistry meterRegistry) {
+      var store = new PersistedQueryStore(documents, properties.allowListOnly(), properties.maxRegistered());
+      store.load(properties.manifest(), objectMapper);
+      CaffeineCacheMetrics.monitor(meterRegistry, store.registered(), "graphql.persisted-queries");
+      return store;
+  }
+
+  @Bean
+  @Primary
+  public PersistedQueryDocumentProvider persistedQueryDocumentProvider(CaffeinePreparsedDocumentProvider documents,
+                                                                       PersistedQueryStore store,
+                                                                       PersistedQueryProperties properties) {
+      return new PersistedQueryDocumentProvider(documents, store, properties.enabled(), properties.allowListOnly());
+  }
+
+  /**
+   * Replaces Boot's registry so every DataLoader collects the statistics behind
+   * {@code graphql.dataloader.batch.size}.
+   */
+  @Bean
+  public BatchLoaderRegistry batchLoaderRegistry(FieldMetricsProperties fieldMetricsProperties) {
+      if (!fieldMetricsProperties.enabled()) {
+          return new DefaultBatchLoaderRegistry();
+      }
+      return new DefaultBatchLoaderRegistry(() -> DataLoaderOptions.newOptions()
+              .setStatisticsCollector(SimpleStatisticsCollector::new));
+  }
+
+  @Bean
+  @ConditionalOnProperty(prefix = "graphql.cache.response", name = "enabled")
+  public ResponseCache responseCache(ResponseCacheProperties properties, GraphQlTransportCodecs codecs,
+                                     MeterRegistry meterRegistry) {
+      // The transports' mapper, so cached responses are stored in the format they are served in
+      var cache = new ResponseCache(properties, codecs.objectMapper());
+      CaffeineCacheMetrics.monitor(meterRegistry, cache.responses(), "graphql.responses");
+      return cache;
+  }
+
+  /**
+   * After admission control and before incremental delivery, so a hit skips everything else and a miss
+   * sees the response before its {@code @defer} payloads are reshaped for the transport.
+   */
+  @Bean
+  @Order(0)
+  @ConditionalOnProperty(prefix = "graphql.cache.response", name = "enabled")
+  public ResponseCacheInterceptor responseCacheInterceptor(ResponseCache cache) {
+      return new ResponseCacheInterceptor(cache);
   }
 }
@@ -0,0 +1,21 @@
+package com.nkhan.cache.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.core.io.Resource;
+
+/**
+ * Automatic persisted queries (Apollo APQ protocol).
+ *
+ * @param enabled       resolve {@code extensions.persistedQuery.sha256Hash} against the hash store
+ * @param allowListOnly reject documents that are not in the manifest, and refuse client registrations
+ * @param manifest      Apollo persisted query manifest used to warm the store at startup; optional
+ * @param maxRegistered upper bound on hashes registered by clients at runtime
+ */
+@ConfigurationProperties(prefix = "graphql.persisted-queries")
+public record PersistedQueryProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("false") boolean allowListOnly,
+        @DefaultValue("classpath:graphql/persisted-query-manifest.json") Resource manifest,
+        @DefaultValue("10000") long maxRegistered
+) {}
@@ -0,0 +1,41 @@
+package com.nkhan.cache.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Static cost budget checked before a query executes. A field costs
+ * {@code multiplier * (weight + cost of its selections)}, where the multiplier is 1 for non-list fields
+ * and, for list fields, the value of the first multiplier argument present, else the field's assumed size.
+ * Per-field settings here override the {@code @cost} schema directive.
+ *
+ * @param enabled             analyse and enforce limits
+ * @param maxDepth            deepest allowed field nesting, root fields being depth 1
+ * @param maxCost             highest allowed query cost
+ * @param objectWeight        weight of fields returning an object, interface or union
+ * @param scalarWeight        weight of fields returning a scalar or enum
+ * @param defaultListSize     assumed size of a list field without a multiplier argument or assumed size
+ * @param multiplierArguments arguments whose integer value bounds a list field's size, e.g. {@code first}
+ * @param weights             weight overrides by {@code Type.field}
+ * @param assumedSizes        list size overrides by {@code Type.field}
+ */
+@ConfigurationProperties(prefix = "graphql.cost")
+public record QueryCostProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("12") int maxDepth,
+        @DefaultValue("10000") long maxCost,
+        @DefaultValue("1") int objectWeight,
+        @DefaultValue("0") int scalarWeight,
+        @DefaultValue("10") int defaultListSize,
+        @DefaultValue({"first", "last", "limit"}) List<String> multiplierArguments,
+        Map<String, Integer> weights,
+        Map<String, Integer> assumedSizes
+) {
+    public QueryCostProperties {
+        weights = weights == null ? Map.of() : Map.copyOf(weights);
+        assumedSizes = assumedSizes == null ? Map.of() : Map.copyOf(assumedSizes);
+    }
+}
@@ -0,0 +1,24 @@
+package com.nkhan.cache.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Whole-response cache for queries, driven by {@code @cacheControl} hints in the schema.
+ *
+ * @param enabled       off by default; responses are only cached when this is on
+ * @param maxSize       upper bound on the serialized bytes of all cached responses
+ * @param defaultMaxAge max-age of root fields and object-typed fields without a hint; zero keeps
+ *                      unhinted queries out of the cache
+ * @param maxDocuments  normalized document hashes remembered per raw query text
+ */
+@ConfigurationProperties(prefix = "graphql.cache.response")
+public record ResponseCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("64MB") DataSize maxSize,
+        @DefaultValue("0s") Duration defaultMaxAge,
+        @DefaultValue("10000") long maxDocuments
+) {}
@@ -0,0 +1,35 @@
+package com.nkhan.cache.instrumentation;
+
+import com.nkhan.cache.response.CachePolicy;
+import graphql.ExecutionResult;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+
+import java.time.Duration;
+
+/**
+ * Works out the {@link CachePolicy} of every operation once it is parsed and validated, and leaves it in
+ * the {@code GraphQLContext} under {@code CachePolicy.class} for the response cache to pick up.
+ * Computing it here rather than in the web layer means persisted queries sent by hash only are covered
+ * too, and the document is never parsed twice.
+ */
+public class CachePolicyInstrumentation extends SimplePerformantInstrumentation {
+
+    private final Duration defaultMaxAge;
+
+    public CachePolicyInstrumentation(Duration defaultMaxAge) {
+        this.defaultMaxAge = defaultMaxAge;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                         InstrumentationState state) {
+        ExecutionContext context = parameters.getExecutionContext();
+        context.getGraphQLContext().put(CachePolicy.class, CachePolicy.of(context, defaultMaxAge));
+        return SimpleInstrumentationContext.noOp();
+    }
+}
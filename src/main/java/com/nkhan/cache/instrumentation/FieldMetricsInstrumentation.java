@@ -0,0 +1,167 @@
+package com.nkhan.cache.instrumentation;
+
+import com.nkhan.cache.config.FieldMetricsProperties;
+import graphql.ExecutionResult;
+import graphql.execution.DataFetcherResult;
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.instrumentation.FieldFetchingInstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.dataloader.DataLoaderRegistry;
+import org.dataloader.stats.Statistics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Times every non-trivial field fetch of sampled operations in {@code graphql.field.fetch}, tagged with
+ * {@code parentType}, {@code field} and {@code outcome} ({@code success} or {@code error}). The time runs
+ * until the fetched value is available, so it includes waiting on a data loader batch. Once
+ * {@code maxTaggedFields} coordinates have timers, further ones share {@code other}/{@code other} tags.
+ * <p>
+ * For each sampled operation, keys per batch of every data loader that dispatched are recorded in
+ * {@code graphql.dataloader.batch.size} by {@code loader}, and with {@code allocation} on, the bytes
+ * allocated by fetchers on their calling threads in {@code graphql.operation.allocated}.
+ * <p>
+ * Counts are of sampled operations only; divide by {@code sampleRate} for totals.
+ */
+public class FieldMetricsInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final String OTHER = "other";
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private static final class State implements InstrumentationState {
+        final LongAdder allocated = new LongAdder();
+    }
+
+    private record FieldTimers(Timer success, Timer error) {}
+
+    private final FieldMetricsProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final double[] percentiles;
+    private final boolean allocation;
+    private final ConcurrentMap<String, FieldTimers> timers = new ConcurrentHashMap<>();
+
+    public FieldMetricsInstrumentation(FieldMetricsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.percentiles = properties.percentiles().stream().mapToDouble(Double::doubleValue).toArray();
+        this.allocation = properties.allocation() && THREADS != null;
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        double rate = properties.sampleRate();
+        return rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate ? new State() : null;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters,
+                                                                  InstrumentationState state) {
+        if (!(state instanceof State sampled)) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        DataLoaderRegistry dataLoaders = parameters.getExecutionInput().getDataLoaderRegistry();
+        return SimpleInstrumentationContext.whenCompleted((result, error) -> {
+            dataLoaders.getDataLoadersMap().forEach((name, loader) -> recordBatches(name, loader.getStatistics()));
+            if (allocation) {
+                DistributionSummary.builder("graphql.operation.allocated")
+                        .baseUnit("bytes")
+                        .register(meterRegistry)
+                        .record(sampled.allocated.sum());
+            }
+        });
+    }
+
+    @Override
+    public FieldFetchingInstrumentationContext beginFieldFetching(InstrumentationFieldFetchParameters parameters,
+                                                                  InstrumentationState state) {
+        if (!(state instanceof State sampled) || (parameters.isTrivialDataFetcher() && !properties.trivialFields())) {
+            return FieldFetchingInstrumentationContext.NOOP;
+        }
+        ExecutionStepInfo stepInfo = parameters.getExecutionStepInfo();
+        FieldTimers fieldTimers = timers(stepInfo.getObjectType().getName(), stepInfo.getFieldDefinition().getName());
+        long allocatedBefore = allocation ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+        long start = System.nanoTime();
+        return new FieldFetchingInstrumentationContext() {
+            @Override
+            public void onDispatched() {
+                if (allocation) {
+                    sampled.allocated.add(THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore);
+                }
+            }
+
+            @Override
+            public void onCompleted(Object result, Throwable error) {
+                boolean failed = error != null || result instanceof DataFetcherResult<?> r && r.hasErrors();
+                (failed ? fieldTimers.error() : fieldTimers.success())
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    private FieldTimers timers(String parentType, String field) {
+        String coordinate = parentType + '.' + field;
+        FieldTimers existing = timers.get(coordinate);
+        if (existing != null) {
+            return existing;
+        }
+        if (timers.size() >= properties.maxTaggedFields()) {
+            return timers.computeIfAbsent(OTHER, k -> newTimers(OTHER, OTHER));
+        }
+        return timers.computeIfAbsent(coordinate, k -> newTimers(parentType, field));
+    }
+
+    private FieldTimers newTimers(String parentType, String field) {
+        return new FieldTimers(newTimer(parentType, field, "success"), newTimer(parentType, field, "error"));
+    }
+
+    private Timer newTimer(String parentType, String field, String outcome) {
+        return Timer.builder("graphql.field.fetch")
+                .description("Time until a field's fetched value is available")
+                .tag("parentType", parentType)
+                .tag("field", field)
+                .tag("outcome", outcome)
+                .publishPercentiles(percentiles)
+                .publishPercentileHistogram(properties.histogram())
+                .register(meterRegistry);
+    }
+
+    private void recordBatches(String loader, Statistics statistics) {
+        long batches = statistics.getBatchInvokeCount();
+        if (batches == 0) {
+            return;
+        }
+        DistributionSummary summary = DistributionSummary.builder("graphql.dataloader.batch.size")
+                .description("Keys per data loader batch")
+                .tag("loader", loader)
+                .register(meterRegistry);
+        // Statistics are per request, not per batch: record the mean once per batch
+        long keys = statistics.getBatchLoadCount();
+        for (long i = 0; i < batches; i++) {
+            summary.record((double) keys / batches);
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+}
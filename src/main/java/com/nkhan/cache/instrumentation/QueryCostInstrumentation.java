@@ -0,0 +1,199 @@
+package com.nkhan.cache.instrumentation;
+
+import com.nkhan.cache.config.QueryCostProperties;
+import graphql.ExecutionResult;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.schema.GraphQLAppliedDirective;
+import graphql.schema.GraphQLAppliedDirectiveArgument;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Rejects operations whose nesting depth or static cost exceeds the {@link QueryCostProperties} budget
+ * before any field is resolved, and records the depth and cost of every accepted operation in
+ * {@code graphql.query.depth} and {@code graphql.query.cost}. Rejections are counted in
+ * {@code graphql.query.rejected} by {@code reason}.
+ * <p>
+ * Field weights and list sizes come from properties first, then from the {@code @cost} directive on the
+ * field definition, then from the defaults. Introspection fields are free and do not add depth.
+ */
+@Slf4j
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    public static final String DIRECTIVE = "cost";
+
+    private record FieldCost(long weight, List<String> multiplierArguments, long assumedSize) {}
+
+    private final QueryCostProperties properties;
+    private final ConcurrentMap<String, FieldCost> fieldCosts = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public QueryCostInstrumentation(QueryCostProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                         InstrumentationState state) {
+        ExecutionContext context = parameters.getExecutionContext();
+        long[] result = analyse(context);
+        long depth = result[1];
+        long cost = result[0];
+        String operation = context.getOperationDefinition().getOperation().name().toLowerCase();
+        if (depth > properties.maxDepth()) {
+            reject("depth");
+            throw new AbortExecutionException(
+                    "Query depth " + depth + " exceeds the maximum of " + properties.maxDepth());
+        }
+        if (cost > properties.maxCost()) {
+            reject("cost");
+            throw new AbortExecutionException(
+                    "Query cost " + cost + " exceeds the maximum of " + properties.maxCost());
+        }
+        DistributionSummary.builder("graphql.query.cost")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(cost);
+        DistributionSummary.builder("graphql.query.depth")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(depth);
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    /**
+     * One post-order pass: each field adds its cost to its parent's total and its subtree depth to the
+     * parent's deepest child. Returns {@code {cost, depth}} of the whole operation.
+     */
+    long[] analyse(ExecutionContext context) {
+        QueryTraverser traverser = QueryTraverser.newQueryTraverser()
+                .schema(context.getGraphQLSchema())
+                .document(context.getDocument())
+                .operationName(context.getOperationDefinition().getName())
+                .coercedVariables(context.getCoercedVariables())
+                .build();
+        long[] root = new long[2];
+        Map<QueryVisitorFieldEnvironment, long[]> children = new HashMap<>();
+        traverser.visitPostOrder(new QueryVisitorStub() {
+            @Override
+            public void visitField(QueryVisitorFieldEnvironment env) {
+                long[] selections = children.remove(env);
+                if (isIntrospection(env)) {
+                    return;
+                }
+                long childCost = selections == null ? 0 : selections[0];
+                long childDepth = selections == null ? 0 : selections[1];
+                long cost = multiply(multiplier(env), add(fieldCost(env).weight(), childCost));
+                long[] parent = env.getParentEnvironment() == null
+                        ? root
+                        : children.computeIfAbsent(env.getParentEnvironment(), k -> new long[2]);
+                parent[0] = add(parent[0], cost);
+                parent[1] = Math.max(parent[1], childDepth + 1);
+            }
+        });
+        return root;
+    }
+
+    private long multiplier(QueryVisitorFieldEnvironment env) {
+        if (!(GraphQLTypeUtil.unwrapNonNull(env.getFieldDefinition().getType()) instanceof GraphQLList)) {
+            return 1;
+        }
+        FieldCost fieldCost = fieldCost(env);
+        Long size = slicingArgument(env, fieldCost);
+        QueryVisitorFieldEnvironment parent = env.getParentEnvironment();
+        if (size == null && parent != null
+                && !(GraphQLTypeUtil.unwrapNonNull(parent.getFieldDefinition().getType()) instanceof GraphQLList)) {
+            // Relay connections: the list is `edges`, sliced by the connection field's `first`
+            size = slicingArgument(parent, fieldCost(parent));
+        }
+        return size != null ? size : fieldCost.assumedSize();
+    }
+
+    private static Long slicingArgument(QueryVisitorFieldEnvironment env, FieldCost fieldCost) {
+        for (String argument : fieldCost.multiplierArguments()) {
+            if (env.getArguments().get(argument) instanceof Number size) {
+                return Math.max(0, size.longValue());
+            }
+        }
+        return null;
+    }
+
+    private FieldCost fieldCost(QueryVisitorFieldEnvironment env) {
+        GraphQLFieldDefinition definition = env.getFieldDefinition();
+        String coordinate = env.getFieldsContainer().getName() + '.' + definition.getName();
+        return fieldCosts.computeIfAbsent(coordinate, k -> {
+            GraphQLAppliedDirective directive = definition.getAppliedDirective(DIRECTIVE);
+            Integer weight = properties.weights().get(k);
+            if (weight == null) {
+                weight = directiveArgument(directive, "weight");
+            }
+            if (weight == null) {
+                weight = GraphQLTypeUtil.isLeaf(GraphQLTypeUtil.unwrapAll(definition.getType()))
+                        ? properties.scalarWeight()
+                        : properties.objectWeight();
+            }
+            Integer assumedSize = properties.assumedSizes().get(k);
+            if (assumedSize == null) {
+                assumedSize = directiveArgument(directive, "assumedSize");
+            }
+            List<String> multipliers = directiveArgument(directive, "multipliers");
+            return new FieldCost(weight,
+                    multipliers == null ? properties.multiplierArguments() : multipliers,
+                    assumedSize == null ? properties.defaultListSize() : assumedSize);
+        });
+    }
+
+    private static <T> T directiveArgument(GraphQLAppliedDirective directive, String name) {
+        if (directive == null) {
+            return null;
+        }
+        GraphQLAppliedDirectiveArgument argument = directive.getArgument(name);
+        return argument == null ? null : argument.getValue();
+    }
+
+    private static boolean isIntrospection(QueryVisitorFieldEnvironment env) {
+        GraphQLType parentType = GraphQLTypeUtil.unwrapAll(env.getParentType());
+        return env.isTypeNameIntrospectionField()
+                || env.getFieldDefinition().getName().startsWith("__")
+                || parentType instanceof GraphQLNamedType named && named.getName().startsWith("__");
+    }
+
+    private void reject(String reason) {
+        Counter.builder("graphql.query.rejected")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static long add(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long multiply(long a, long b) {
+        return b != 0 && a > Long.MAX_VALUE / b ? Long.MAX_VALUE : a * b;
+    }
+}
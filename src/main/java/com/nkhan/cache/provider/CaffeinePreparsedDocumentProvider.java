@@ -0,0 +1,66 @@
+package com.nkhan.cache.provider;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nkhan.cache.config.DocumentCacheProperties;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Bounded replacement for the old {@code ConcurrentHashMap} document cache.
+ * <p>
+ * Eviction is W-TinyLFU (Caffeine) under a single weight budget: every entry weighs at least
+ * {@code maxSize / maxEntries}, so the byte budget also caps the entry count. Lookups run on the
+ * calling thread; a hit never leaves it and a miss parses and validates in place.
+ */
+@Slf4j
+public class CaffeinePreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+    /** Rough retained bytes per query character: the UTF-16 source plus the AST built from it. */
+    private static final int BYTES_PER_QUERY_CHAR = 8;
+
+    private final Cache<String, PreparsedDocumentEntry> cache;
+
+    public CaffeinePreparsedDocumentProvider(DocumentCacheProperties properties) {
+        long maxBytes = properties.maxSize().toBytes();
+        int minWeight = (int) Math.max(1, maxBytes / Math.max(1, properties.maxEntries()));
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String query, PreparsedDocumentEntry entry) ->
+                        (int) Math.min(Integer.MAX_VALUE,
+                                Math.max(minWeight, (long) query.length() * BYTES_PER_QUERY_CHAR)))
+                .expireAfterAccess(properties.expireAfterAccess())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+                                                                      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return CompletableFuture.completedFuture(
+                get(executionInput.getQuery(), query -> parseAndValidateFunction.apply(executionInput)));
+    }
+
+    /**
+     * Returns the cached entry for {@code query}, parsing and validating it on the calling thread on a miss.
+     */
+    public PreparsedDocumentEntry get(String query, Function<String, PreparsedDocumentEntry> parseAndValidate) {
+        return cache.get(query, key -> {
+            log.debug("Cache miss for GraphQL query. Parsing and validating...");
+            return parseAndValidate.apply(key);
+        });
+    }
+
+    public Cache<String, PreparsedDocumentEntry> cache() {
+        return cache;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
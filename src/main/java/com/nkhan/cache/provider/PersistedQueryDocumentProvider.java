@@ -0,0 +1,51 @@
+package com.nkhan.cache.provider;
+
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import org.springframework.graphql.execution.ErrorType;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Entry point for document resolution: requests carrying {@code extensions.persistedQuery} go through
+ * {@link ApolloPersistedQuerySupport} and the {@link PersistedQueryStore}; everything else goes straight
+ * to the document cache, unless allow-list mode only accepts manifest documents.
+ */
+public class PersistedQueryDocumentProvider implements PreparsedDocumentProvider {
+
+    private static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+
+    private final CaffeinePreparsedDocumentProvider documents;
+    private final PersistedQueryStore store;
+    private final ApolloPersistedQuerySupport persistedQuerySupport;
+    private final boolean enabled;
+    private final boolean allowListOnly;
+
+    public PersistedQueryDocumentProvider(CaffeinePreparsedDocumentProvider documents, PersistedQueryStore store,
+                                          boolean enabled, boolean allowListOnly) {
+        this.documents = documents;
+        this.store = store;
+        this.persistedQuerySupport = new ApolloPersistedQuerySupport(store);
+        this.enabled = enabled;
+        this.allowListOnly = allowListOnly;
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+                                                                      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        if (enabled && executionInput.getExtensions().containsKey(PERSISTED_QUERY_EXTENSION)) {
+            return persistedQuerySupport.getDocumentAsync(executionInput, parseAndValidateFunction);
+        }
+        if (allowListOnly && !store.isKnown(executionInput.getQuery())) {
+            return CompletableFuture.completedFuture(new PreparsedDocumentEntry(GraphqlErrorBuilder.newError()
+                    .errorType(ErrorType.FORBIDDEN)
+                    .message("PersistedQueryRequired")
+                    .build()));
+        }
+        return documents.getDocumentAsync(executionInput, parseAndValidateFunction);
+    }
+}
@@ -0,0 +1,127 @@
+package com.nkhan.cache.provider;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQueryIdInvalid;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Hash-keyed query store for automatic persisted queries.
+ * <p>
+ * Holds only {@code sha256 -> query text}; the parsed document itself lives in the shared
+ * {@link CaffeinePreparsedDocumentProvider}, so a persisted and a plain request for the same text
+ * share one cache entry. Manifest entries are pinned, client registrations are bounded.
+ */
+@Slf4j
+public class PersistedQueryStore implements PersistedQueryCache {
+
+    private final CaffeinePreparsedDocumentProvider documents;
+    private final boolean allowListOnly;
+    private final Map<String, String> manifest = new HashMap<>();
+    private final Cache<String, String> registered;
+
+    public PersistedQueryStore(CaffeinePreparsedDocumentProvider documents, boolean allowListOnly, long maxRegistered) {
+        this.documents = documents;
+        this.allowListOnly = allowListOnly;
+        this.registered = Caffeine.newBuilder()
+                .maximumSize(maxRegistered)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Warms the store from an Apollo persisted query manifest
+     * ({@code {"operations": [{"id": "<sha256>", "body": "<query>"}]}}). A missing resource is ignored;
+     * an entry whose id is not the hash of its body fails startup.
+     */
+    public void load(Resource resource, ObjectMapper objectMapper) {
+        if (!resource.exists()) {
+            log.info("No persisted query manifest at {}", resource);
+            return;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            JsonNode operations = objectMapper.readTree(in).path("operations");
+            for (JsonNode operation : operations) {
+                String id = operation.path("id").asText();
+                String body = operation.path("body").asText();
+                if (!sha256Hex(body).equalsIgnoreCase(id)) {
+                    throw new IllegalStateException("Persisted query '%s' in %s does not match the hash of its body"
+                            .formatted(id, resource));
+                }
+                manifest.put(id.toLowerCase(), body);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read persisted query manifest " + resource, e);
+        }
+        log.info("Loaded {} persisted queries from {}", manifest.size(), resource);
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(Object persistedQueryId,
+                                                                                    ExecutionInput executionInput,
+                                                                                    PersistedQueryCacheMiss onCacheMiss)
+            throws PersistedQueryNotFound {
+        String hash = persistedQueryId.toString().toLowerCase();
+        String query = lookup(hash);
+        if (query != null) {
+            return CompletableFuture.completedFuture(documents.get(query, onCacheMiss));
+        }
+
+        String sent = executionInput.getQuery();
+        if (allowListOnly || sent == null || sent.isBlank() || PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(sent)) {
+            throw new PersistedQueryNotFound(persistedQueryId);
+        }
+        // The text may already be cached under plain-query traffic, in which case onCacheMiss never runs
+        // and never checks the hash. Check it here so a client cannot bind a hash to someone else's query.
+        if (!sha256Hex(sent).equals(hash)) {
+            throw new PersistedQueryIdInvalid(persistedQueryId);
+        }
+        PreparsedDocumentEntry entry = documents.get(sent, onCacheMiss);
+        if (!entry.hasErrors()) {
+            registered.put(hash, sent);
+        }
+        return CompletableFuture.completedFuture(entry);
+    }
+
+    public boolean isKnown(String query) {
+        return manifest.containsKey(sha256Hex(query));
+    }
+
+    public Cache<String, String> registered() {
+        return registered;
+    }
+
+    private String lookup(String hash) {
+        String query = manifest.get(hash);
+        return query != null ? query : registered.getIfPresent(hash);
+    }
+
+    static String sha256Hex(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.nkhan.cache.response;
+
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.ExecutionContext;
+import graphql.language.OperationDefinition;
+import graphql.schema.GraphQLAppliedDirective;
+import graphql.schema.GraphQLDirectiveContainer;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * What an operation means for the response cache: how long its response stays fresh and which types it
+ * reads (for a query) or changes (for a mutation).
+ * <p>
+ * A field's max-age is its own {@code @cacheControl(maxAge)}, else that of its (unwrapped) return type.
+ * Scalar and enum fields without a hint inherit from their parent; root fields and object-typed fields
+ * without a hint get the default. The response's max-age is the minimum over all selected fields.
+ * The types are every object type a field is selected on or returns, plus the
+ * {@code @cacheInvalidate(types)} of mutation fields.
+ */
+public record CachePolicy(OperationDefinition.Operation operation, Duration maxAge, Set<String> types) {
+
+    static final String CACHE_CONTROL = "cacheControl";
+    static final String CACHE_INVALIDATE = "cacheInvalidate";
+
+    public boolean cacheable() {
+        return operation == OperationDefinition.Operation.QUERY && maxAge.isPositive();
+    }
+
+    public boolean invalidates() {
+        return operation == OperationDefinition.Operation.MUTATION;
+    }
+
+    public static CachePolicy of(ExecutionContext context, Duration defaultMaxAge) {
+        OperationDefinition definition = context.getOperationDefinition();
+        QueryTraverser traverser = QueryTraverser.newQueryTraverser()
+                .schema(context.getGraphQLSchema())
+                .document(context.getDocument())
+                .operationName(definition.getName())
+                .coercedVariables(context.getCoercedVariables())
+                .build();
+        OperationDefinition.Operation operation = definition.getOperation();
+        long[] maxAgeSeconds = {Long.MAX_VALUE};
+        Set<String> types = new HashSet<>();
+        traverser.visitPreOrder(new QueryVisitorStub() {
+            @Override
+            public void visitField(QueryVisitorFieldEnvironment env) {
+                GraphQLFieldDefinition definition = env.getFieldDefinition();
+                if (env.isTypeNameIntrospectionField() || definition.getName().startsWith("__")) {
+                    return;
+                }
+                GraphQLType returnType = GraphQLTypeUtil.unwrapAll(definition.getType());
+                types.add(env.getFieldsContainer().getName());
+                if (!GraphQLTypeUtil.isLeaf(returnType)) {
+                    types.add(((GraphQLNamedType) returnType).getName());
+                }
+                List<String> invalidates = argument(definition.getAppliedDirective(CACHE_INVALIDATE), "types");
+                if (invalidates != null) {
+                    types.addAll(invalidates);
+                }
+                Integer hint = argument(definition.getAppliedDirective(CACHE_CONTROL), "maxAge");
+                if (hint == null && returnType instanceof GraphQLDirectiveContainer container) {
+                    hint = argument(container.getAppliedDirective(CACHE_CONTROL), "maxAge");
+                }
+                if (hint != null) {
+                    maxAgeSeconds[0] = Math.min(maxAgeSeconds[0], hint);
+                } else if (env.getParentEnvironment() == null || !GraphQLTypeUtil.isLeaf(returnType)) {
+                    maxAgeSeconds[0] = Math.min(maxAgeSeconds[0], defaultMaxAge.toSeconds());
+                }
+            }
+        });
+        Duration maxAge = maxAgeSeconds[0] == Long.MAX_VALUE ? defaultMaxAge : Duration.ofSeconds(maxAgeSeconds[0]);
+        return new CachePolicy(operation, maxAge, Set.copyOf(types));
+    }
+
+    private static <T> T argument(GraphQLAppliedDirective directive, String name) {
+        return directive == null || directive.getArgument(name) == null ? null : directive.getArgument(name).getValue();
+    }
+}
@@ -0,0 +1,191 @@
+package com.nkhan.cache.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nkhan.cache.config.ResponseCacheProperties;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.language.AstPrinter;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Whole-response store behind {@link ResponseCacheInterceptor}.
+ * <p>
+ * Entries are keyed by the normalized document, the operation name and the variables. Normalizing prints
+ * the parsed document compactly, so whitespace, comments and commas do not split entries; the SHA-256 of
+ * that text is remembered per raw query for up to {@code maxDocuments} queries. Variables are written as
+ * JSON with sorted keys. Requests that only carry a persisted query hash are keyed by that hash.
+ * <p>
+ * Only the {@code data} of a response is kept, serialized, so the cache is bounded by the bytes it
+ * actually holds ({@code maxSize}); each entry expires after its own {@link CachePolicy#maxAge()}.
+ * A mutation drops every entry that read one of the types it touched. Responses are shared by all
+ * callers, so fields that vary per caller must not carry a {@code @cacheControl} hint.
+ */
+@Slf4j
+public class ResponseCache {
+
+    public record Key(String document, String operationName, String variables) {}
+
+    /** Cached {@code data} and how much longer it stays fresh. */
+    public record Hit(Map<String, Object> data, Duration remaining) {}
+
+    private record Entry(byte[] data, Set<String> types, Duration maxAge, long storedAt) {
+
+        Duration remaining() {
+            return maxAge.minusNanos(System.nanoTime() - storedAt);
+        }
+    }
+
+    private final Cache<Key, Entry> responses;
+    private final Cache<String, String> documentHashes;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter variablesWriter;
+    private final ObjectReader dataReader;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ResponseCache(ResponseCacheProperties properties, ObjectMapper objectMapper) {
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(properties.maxSize().toBytes())
+                .weigher((Key key, Entry entry) -> entry.data().length)
+                .expireAfter(new Expiry<Key, Entry>() {
+                    @Override
+                    public long expireAfterCreate(Key key, Entry entry, long currentTime) {
+                        return entry.maxAge().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Key key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.maxAge().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(Key key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        this.documentHashes = Caffeine.newBuilder()
+                .maximumSize(properties.maxDocuments())
+                .build();
+        this.objectMapper = objectMapper;
+        this.variablesWriter = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        // Decimals come back as written; as doubles a BigDecimal would lose digits on a hit
+        this.dataReader = objectMapper.readerFor(Map.class).with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    }
+
+    /**
+     * @return the key for this request, or {@code null} when the document does not parse (execution
+     * reports the syntax error)
+     */
+    public Key key(String document, String operationName, Map<String, Object> variables,
+                   Map<String, Object> extensions) {
+        String hash;
+        if (document == null || document.isBlank() || PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(document)) {
+            Object persistedQuery = extensions.get("persistedQuery");
+            if (!(persistedQuery instanceof Map<?, ?> map) || map.get("sha256Hash") == null) {
+                return null;
+            }
+            hash = "apq:" + map.get("sha256Hash").toString().toLowerCase();
+        } else {
+            hash = documentHashes.get(document, ResponseCache::normalizedHash);
+            if (hash.isEmpty()) {
+                return null;
+            }
+        }
+        try {
+            return new Key(hash, operationName, variablesWriter.writeValueAsString(variables));
+        } catch (JsonProcessingException e) {
+            log.debug("Unable to write variables of {} as a cache key", operationName, e);
+            return null;
+        }
+    }
+
+    /**
+     * @return the cached {@code data} for {@code key} with its remaining max-age, or {@code null}
+     */
+    public Hit get(Key key) {
+        Entry entry = responses.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        try {
+            Map<String, Object> data = dataReader.readValue(entry.data());
+            return new Hit(data, entry.remaining());
+        } catch (IOException e) {
+            log.warn("Dropping unreadable cached response", e);
+            responses.invalidate(key);
+            return null;
+        }
+    }
+
+    /**
+     * Token to pass to {@link #put}: a response computed while a mutation was invalidating is not stored.
+     */
+    public long generation() {
+        return invalidations.get();
+    }
+
+    public void put(Key key, Object data, CachePolicy policy, long generation) {
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(data);
+            if (invalidations.get() == generation) {
+                responses.put(key, new Entry(bytes, policy.types(), policy.maxAge(), System.nanoTime()));
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Unable to cache response of {}", key.operationName(), e);
+        }
+    }
+
+    /**
+     * Drops every response that read one of {@code types}.
+     */
+    public void invalidateTypes(Set<String> types) {
+        invalidations.incrementAndGet();
+        responses.asMap().values().removeIf(entry -> !Collections.disjoint(entry.types(), types));
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        responses.invalidateAll();
+    }
+
+    public Cache<Key, ?> responses() {
+        return responses;
+    }
+
+    /** Empty when the document does not parse, so the failure is remembered as well. */
+    private static String normalizedHash(String document) {
+        String normalized;
+        try {
+            normalized = AstPrinter.printAstCompact(Parser.parse(document));
+        } catch (InvalidSyntaxException e) {
+            return "";
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.nkhan.cache.response;
+
+import graphql.ExecutionResult;
+import graphql.ExperimentalApi;
+import graphql.GraphQLContext;
+import graphql.incremental.IncrementalExecutionResult;
+import org.reactivestreams.Publisher;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Serves queries from the {@link ResponseCache} and keeps it in step with mutations.
+ * <p>
+ * A hit returns the cached {@code data} without executing anything. A miss executes and stores the
+ * response when its {@link CachePolicy} is cacheable and it has no errors. Responses of requests with
+ * incremental delivery enabled are never stored, whether or not they deferred anything, nor is any
+ * {@code data} that is still a stream (as the WebSocket transport shapes {@code @defer} results); a later
+ * hit answers such a request in one payload. HTTP responses of
+ * cacheable queries carry {@code Cache-Control: max-age} with the remaining freshness. After a mutation,
+ * every cached response that read a type it touched is dropped, whether or not it succeeded.
+ */
+public class ResponseCacheInterceptor implements WebGraphQlInterceptor {
+
+    private final ResponseCache cache;
+
+    public ResponseCacheInterceptor(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        ResponseCache.Key key = cache.key(request.getDocument(), request.getOperationName(),
+                request.getVariables(), request.getExtensions());
+        if (key != null) {
+            ResponseCache.Hit hit = cache.get(key);
+            if (hit != null) {
+                ExecutionResult result = ExecutionResult.newExecutionResult().data(hit.data()).build();
+                WebGraphQlResponse response = new WebGraphQlResponse(
+                        new DefaultExecutionGraphQlResponse(request.toExecutionInput(), result));
+                setMaxAge(response.getResponseHeaders(), hit.remaining());
+                return Mono.just(response);
+            }
+        }
+        long generation = cache.generation();
+        return chain.next(request).doOnNext(response -> {
+            GraphQLContext context = response.getExecutionInput().getGraphQLContext();
+            CachePolicy policy = context.get(CachePolicy.class);
+            if (policy == null) {
+                return;
+            }
+            if (policy.cacheable()) {
+                ExecutionResult result = response.getExecutionResult();
+                if (key != null && result.getErrors().isEmpty() && result.isDataPresent()
+                        && !context.getBoolean(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT, false)
+                        && !(result instanceof IncrementalExecutionResult)
+                        && !(result.getData() instanceof Publisher<?>)) {
+                    cache.put(key, result.getData(), policy, generation);
+                    setMaxAge(response.getResponseHeaders(), policy.maxAge());
+                }
+            } else if (policy.invalidates()) {
+                cache.invalidateTypes(policy.types());
+            }
+        });
+    }
+
+    private static void setMaxAge(HttpHeaders headers, Duration maxAge) {
+        headers.setCacheControl(CacheControl.maxAge(Duration.ofSeconds(Math.max(0, maxAge.toSeconds()))));
+    }
+}
@@ -2,35 +2,50 @@ package com.nkhan.clients;
 
 import com.nkhan.clients.dto.CustomerDto;
 import com.nkhan.clients.dto.CustomerEvent;
+import com.nkhan.clients.config.CustomerClientProperties;
+import com.nkhan.clients.support.CustomerByIdBatcher;
+import com.nkhan.clients.support.CustomerEntityCache;
+import com.nkhan.clients.support.RequestCoalescer;
+import com.nkhan.clients.support.SharedSubscription;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.graphql.client.HttpGraphQlClient;
 import org.springframework.graphql.client.WebSocketGraphQlClient;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
-import org.springframework.web.reactive.socket.client.WebSocketClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
+
 @Slf4j
 @Component
 public class CustomerGraphQLClient {
 
     private final HttpGraphQlClient httpClient;
     private final WebSocketGraphQlClient wsClient;
-
-    public CustomerGraphQLClient() {
-        // 👇 Replace with your customer-ql-svc URL
-        String baseUrl = "http://localhost:8082/graphql";
-        String wsUrl = "ws://localhost:8082/graphql";
-
-        this.httpClient = HttpGraphQlClient.builder()
-                .url(baseUrl)
-                .build();
-        WebSocketClient webSocketClient = new ReactorNettyWebSocketClient();
-
-        this.wsClient = WebSocketGraphQlClient.builder(wsUrl, webSocketClient)
-                .url("ws://localhost:8082/graphql")
-                .build();
+    private final RequestCoalescer coalescer;
+    private final CustomerByIdBatcher batcher;
+    private final CustomerEntityCache entities;
+    private final SharedSubscription<CustomerEvent> customerEvents;
+
+    public CustomerGraphQLClient(HttpGraphQlClient customerHttpGraphQlClient,
+                                 WebSocketGraphQlClient customerWebSocketGraphQlClient,
+                                 RequestCoalescer customerRequestCoalescer,
+                                 ObjectProvider<CustomerByIdBatcher> customerByIdBatcher,
+                                 CustomerEntityCache customerEntityCache,
+                                 CustomerClientProperties properties,
+                                 MeterRegistry meterRegistry) {
+        // Endpoint, pool and timeouts come from customer.client.* (see CustomerClientConfig)
+        this.httpClient = customerHttpGraphQlClient;
+        this.wsClient = customerWebSocketGraphQlClient;
+        this.coalescer = customerRequestCoalescer;
+        this.batcher = customerByIdBatcher.getIfAvailable();
+        this.entities = customerEntityCache;
+        CustomerClientProperties.Events events = properties.events();
+        this.customerEvents = new SharedSubscription<>("customerEvents", this::openCustomerEvents,
+                events.bufferSize(), events.overflow(), events.minBackoff(), events.maxBackoff(), events.linger(),
+                meterRegistry);
     }
 
     // ===============================
@@ -50,18 +65,33 @@ public class CustomerGraphQLClient {
                 }
                 """;
 
-        return httpClient.document(query)
-                .retrieve("customers")
-                .toEntityList(CustomerDto.class)
-                .flatMapMany(Flux::fromIterable)
-                .doOnSubscribe(s -> log.info("Fetching all customers..."))
-                .doOnError(e -> log.error("Error fetching customers", e));
+        return coalescer.execute("customers", new RequestCoalescer.Key(query, Map.of()),
+                        () -> Mono.defer(() -> {
+                                    long version = entities.version();
+                                    return httpClient.document(query)
+                                            .retrieve("customers")
+                                            .toEntityList(CustomerDto.class)
+                                            .doOnNext(customers -> customers.forEach(c -> entities.merge(c, version)));
+                                })
+                                .doOnSubscribe(s -> log.info("Fetching all customers..."))
+                                .doOnError(e -> log.error("Error fetching customers", e)))
+                .flatMapMany(Flux::fromIterable);
     }
 
     // ===============================
     // 🧾 Query: Get Customer by ID
     // ===============================
+    /**
+     * Served from the entity cache when the customer is there, otherwise fetched.
+     */
     public Mono<CustomerDto> getCustomerById(String id) {
+        return Mono.defer(() -> {
+            CustomerDto cached = entities.get(id);
+            return cached != null ? Mono.just(cached) : fetchCustomerById(id);
+        });
+    }
+
+    private Mono<CustomerDto> fetchCustomerById(String id) {
         String query = """
                 query ($id: ID!) {
                   customerById(id: $id) {
@@ -75,12 +105,25 @@ public class CustomerGraphQLClient {
                 }
                 """;
 
-        return httpClient.document(query)
-                .variable("id", id)
-                .retrieve("customerById")
-                .toEntity(CustomerDto.class)
-                .doOnSubscribe(s -> log.info("Fetching customer with id={}", id))
-                .doOnError(e -> log.error("Error fetching customer {}", id, e));
+        if (batcher != null) {
+            // Distinct ids inside the batch window share one aliased upstream document
+            return coalescer.execute("customerById", new RequestCoalescer.Key(query, Map.of("id", id)),
+                    () -> Mono.defer(() -> {
+                        long version = entities.version();
+                        return batcher.load(id).doOnNext(c -> entities.merge(c, version));
+                    }));
+        }
+        return coalescer.execute("customerById", new RequestCoalescer.Key(query, Map.of("id", id)),
+                () -> Mono.defer(() -> {
+                            long version = entities.version();
+                            return httpClient.document(query)
+                                    .variable("id", id)
+                                    .retrieve("customerById")
+                                    .toEntity(CustomerDto.class)
+                                    .doOnNext(c -> entities.merge(c, version));
+                        })
+                        .doOnSubscribe(s -> log.info("Fetching customer with id={}", id))
+                        .doOnError(e -> log.error("Error fetching customer {}", id, e)));
     }
 
     // ===============================
@@ -90,10 +133,12 @@ public class CustomerGraphQLClient {
         String mutation = """
                 mutation ($input: CustomerInput!) {
                   createCustomer(input: $input) {
+                    id
                     firstName
                     lastName
                     phone
                     email
+                    createdAt
                   }
                 }
                 """;
@@ -102,6 +147,10 @@ public class CustomerGraphQLClient {
                 .variable("input", dto)
                 .retrieve("createCustomer")
                 .toEntity(CustomerDto.class)
+                .doOnSuccess(c -> {
+                    entities.replace(c);
+                    coalescer.invalidateAll();
+                })
                 .doOnSubscribe(s -> log.info("Creating customer: {}", dto))
                 .doOnError(e -> log.error("Error creating customer", e));
     }
@@ -127,6 +176,11 @@ public class CustomerGraphQLClient {
                 .variable("input", dto)
                 .retrieve("updateCustomer")
                 .toEntity(CustomerDto.class)
+                .doOnSuccess(c -> {
+                    // The input only carries the changed fields; the result is the whole customer
+                    entities.replace(c);
+                    coalescer.invalidateAll();
+                })
                 .doOnSubscribe(s -> log.info("Updating customer: {}", dto))
                 .doOnError(e -> log.error("Error updating customer", e));
     }
@@ -145,6 +199,10 @@ public class CustomerGraphQLClient {
                 .variable("id", id)
                 .retrieve("deleteCustomer")
                 .toEntity(Boolean.class)
+                .doOnSuccess(deleted -> {
+                    entities.evict(id);
+                    coalescer.invalidateAll();
+                })
                 .doOnSubscribe(s -> log.info("Deleting customer with id={}", id))
                 .doOnError(e -> log.error("Error deleting customer {}", id, e));
     }
@@ -153,6 +211,11 @@ public class CustomerGraphQLClient {
     // 🔔 Subscription: Customer Events
     // ===============================
     public Flux<CustomerEvent> subscribeToCustomerEvents() {
+        // All local subscribers share one upstream subscription
+        return customerEvents.subscribe();
+    }
+
+    private Flux<CustomerEvent> openCustomerEvents() {
         String subscription = """
                 subscription {
                   customerEvents {
@@ -165,6 +228,8 @@ public class CustomerGraphQLClient {
         return wsClient.document(subscription)
                 .retrieveSubscription("customerEvents")
                 .toEntity(CustomerEvent.class)
+                // Whatever the event says happened, the next lookup goes upstream
+                .doOnNext(event -> entities.evict(event.id()))
                 .doOnSubscribe(s -> log.info("Subscribed to customer events"))
                 .doOnError(e -> log.error("Error in customer event subscription", e));
     }
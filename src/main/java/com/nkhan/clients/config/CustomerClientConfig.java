@@ -0,0 +1,93 @@
+package com.nkhan.clients.config;
+
+import com.nkhan.clients.support.CustomerByIdBatcher;
+import com.nkhan.clients.support.CustomerEntityCache;
+import com.nkhan.clients.support.RequestCoalescer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.client.HttpGraphQlClient;
+import org.springframework.graphql.client.WebSocketGraphQlClient;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Transport for {@link com.nkhan.clients.CustomerGraphQLClient}: a named, bounded Reactor Netty pool
+ * instead of the shared default one, with timeouts, compression and optional h2c from
+ * {@code customer.client.*}. Pool gauges are published as
+ * {@code reactor.netty.connection.provider.{active,idle,pending}.connections}, tagged with the pool name.
+ */
+@Configuration
+@EnableConfigurationProperties(CustomerClientProperties.class)
+public class CustomerClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider customerConnectionProvider(CustomerClientProperties properties) {
+        CustomerClientProperties.Pool pool = properties.pool();
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(pool.name())
+                .maxConnections(pool.maxConnections())
+                .pendingAcquireMaxCount(pool.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.pendingAcquireTimeout())
+                .maxIdleTime(pool.maxIdleTime())
+                .metrics(true);
+        if (!pool.evictionInterval().isZero()) {
+            builder.evictInBackground(pool.evictionInterval());
+        }
+        return builder.build();
+    }
+
+    @Bean
+    public HttpGraphQlClient customerHttpGraphQlClient(CustomerClientProperties properties,
+                                                       ConnectionProvider customerConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(customerConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.connectTimeout().toMillis())
+                .responseTimeout(properties.readTimeout())
+                .compress(properties.compress())
+                .protocol(properties.h2c()
+                        ? new HttpProtocol[]{HttpProtocol.H2C, HttpProtocol.HTTP11}
+                        : new HttpProtocol[]{HttpProtocol.HTTP11});
+        WebClient webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        return HttpGraphQlClient.builder(webClient)
+                .url(properties.url())
+                .build();
+    }
+
+    @Bean
+    public RequestCoalescer customerRequestCoalescer(CustomerClientProperties properties, MeterRegistry meterRegistry) {
+        CustomerClientProperties.Cache cache = properties.cache();
+        return new RequestCoalescer(cache.ttl(), cache.staleWhileRevalidate(), cache.maxEntries(), meterRegistry);
+    }
+
+    @Bean
+    public CustomerEntityCache customerEntityCache(CustomerClientProperties properties, MeterRegistry meterRegistry) {
+        CustomerClientProperties.Entities entities = properties.entities();
+        return new CustomerEntityCache(entities.maxEntries(), entities.ttl(), meterRegistry);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(prefix = "customer.client.batch", name = "enabled", matchIfMissing = true)
+    public CustomerByIdBatcher customerByIdBatcher(HttpGraphQlClient customerHttpGraphQlClient,
+                                                   CustomerClientProperties properties, MeterRegistry meterRegistry) {
+        CustomerClientProperties.Batch batch = properties.batch();
+        return new CustomerByIdBatcher(customerHttpGraphQlClient, batch.window(), batch.maxSize(),
+                batch.maxConcurrentBatches(), batch.timeout(), meterRegistry);
+    }
+
+    @Bean
+    public WebSocketGraphQlClient customerWebSocketGraphQlClient(CustomerClientProperties properties) {
+        // Subscriptions hold one long-lived connection each, so they stay off the request pool.
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.connectTimeout().toMillis());
+        return WebSocketGraphQlClient.builder(properties.wsUrl(), new ReactorNettyWebSocketClient(httpClient))
+                .build();
+    }
+}
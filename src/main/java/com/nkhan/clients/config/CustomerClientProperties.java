@@ -0,0 +1,104 @@
+package com.nkhan.clients.config;
+
+import com.nkhan.clients.support.SharedSubscription;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Endpoint and transport settings for the downstream customer-ql service.
+ *
+ * @param url            GraphQL over HTTP endpoint
+ * @param wsUrl          GraphQL over WebSocket endpoint
+ * @param connectTimeout TCP connect timeout
+ * @param readTimeout    maximum time to wait for a response once the request is written
+ * @param compress       request gzip responses and decode them
+ * @param h2c            offer cleartext HTTP/2 (upgrade from HTTP/1.1) so requests multiplex on fewer connections
+ * @param pool           connection pool shared by all HTTP calls of the client
+ * @param cache          short-lived response cache in front of the coalesced reads
+ * @param batch          micro-batching of {@code customerById} lookups into aliased documents
+ * @param entities       normalized per-customer cache fed by every upstream response
+ * @param events         the upstream {@code customerEvents} subscription shared by all local subscribers
+ */
+@ConfigurationProperties(prefix = "customer.client")
+public record CustomerClientProperties(
+        @DefaultValue("http://localhost:8082/graphql") String url,
+        @DefaultValue("ws://localhost:8082/graphql") String wsUrl,
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("5s") Duration readTimeout,
+        @DefaultValue("true") boolean compress,
+        @DefaultValue("false") boolean h2c,
+        @DefaultValue Pool pool,
+        @DefaultValue Cache cache,
+        @DefaultValue Batch batch,
+        @DefaultValue Entities entities,
+        @DefaultValue Events events
+) {
+    /**
+     * @param name                  pool name, used as the {@code name} tag of the pool gauges
+     * @param maxConnections        connections kept open to the service
+     * @param pendingAcquireMaxCount requests allowed to wait for a connection before failing fast
+     * @param pendingAcquireTimeout how long a request may wait for a connection
+     * @param maxIdleTime           idle connections older than this are closed
+     * @param evictionInterval      background sweep for idle connections; zero disables it
+     */
+    public record Pool(
+            @DefaultValue("customer-ql") String name,
+            @DefaultValue("200") int maxConnections,
+            @DefaultValue("1000") int pendingAcquireMaxCount,
+            @DefaultValue("2s") Duration pendingAcquireTimeout,
+            @DefaultValue("30s") Duration maxIdleTime,
+            @DefaultValue("30s") Duration evictionInterval
+    ) {}
+
+    /**
+     * @param ttl                  responses younger than this are served without a downstream call; zero disables the cache
+     * @param staleWhileRevalidate responses up to this much older than {@code ttl} are served while one call refreshes them
+     * @param maxEntries           bound on cached responses
+     */
+    public record Cache(
+            @DefaultValue("0s") Duration ttl,
+            @DefaultValue("5s") Duration staleWhileRevalidate,
+            @DefaultValue("10000") long maxEntries
+    ) {}
+
+    /**
+     * @param enabled              merge concurrent lookups; when off every lookup is its own request
+     * @param window               how long the first pending id waits for others to join its batch
+     * @param maxSize              ids per upstream document; a full batch is sent without waiting
+     * @param maxConcurrentBatches batch requests allowed in flight at once
+     * @param timeout              how long a batch request may take before its callers fail
+     */
+    public record Batch(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("2ms") Duration window,
+            @DefaultValue("50") int maxSize,
+            @DefaultValue("16") int maxConcurrentBatches,
+            @DefaultValue("5s") Duration timeout
+    ) {}
+
+    /**
+     * @param maxEntries customers kept; zero disables the cache
+     * @param ttl        how long a customer is served locally after it was last written
+     */
+    public record Entities(
+            @DefaultValue("10000") long maxEntries,
+            @DefaultValue("60s") Duration ttl
+    ) {}
+
+    /**
+     * @param bufferSize     events buffered per local subscriber before {@code overflow} applies
+     * @param overflow       what happens to a subscriber whose buffer is full
+     * @param minBackoff     first delay before resubscribing after the upstream ends
+     * @param maxBackoff     cap on the resubscribe delay
+     * @param linger         how long the upstream stays open after the last local subscriber leaves
+     */
+    public record Events(
+            @DefaultValue("256") int bufferSize,
+            @DefaultValue("DROP_OLDEST") SharedSubscription.OverflowPolicy overflow,
+            @DefaultValue("1s") Duration minBackoff,
+            @DefaultValue("30s") Duration maxBackoff,
+            @DefaultValue("5s") Duration linger
+    ) {}
+}
@@ -0,0 +1,193 @@
+package com.nkhan.clients.support;
+
+import com.nkhan.clients.dto.CustomerDto;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.graphql.client.ClientGraphQlResponse;
+import org.springframework.graphql.client.ClientResponseField;
+import org.springframework.graphql.client.FieldAccessException;
+import org.springframework.graphql.client.HttpGraphQlClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micro-batches {@code customerById} lookups. Ids requested within {@code window} (or until
+ * {@code maxSize} ids are pending) are sent as one aliased document,
+ * {@code c0: customerById(id: $id0) {...} c1: customerById(id: $id1) {...}}, and each alias is routed
+ * back to its caller. Repeated ids in a batch share one alias; a field error only fails its own callers.
+ * Batch sizes are recorded in {@code customer.client.batch.size}.
+ * <p>
+ * Callers on any thread hand their id to a lock-free queue; whichever caller finds it idle drains it into
+ * the pipeline, so emission is serialized without spinning. A batch is only cut when a slot among
+ * {@code maxConcurrentBatches} is free, and one that takes longer than {@code timeout} fails its callers.
+ * Should the pipeline still terminate, every caller waiting on it is failed and a new pipeline takes over.
+ */
+@Slf4j
+public class CustomerByIdBatcher {
+
+    private static final String CUSTOMER_FIELDS = """
+            {
+                id
+                firstName
+                lastName
+                phone
+                createdAt
+                email
+              }""";
+
+    private record Pending(String id, Sinks.One<CustomerDto> result) {}
+
+    private final HttpGraphQlClient httpClient;
+    private final Duration window;
+    private final int maxSize;
+    private final int maxConcurrentBatches;
+    private final Duration timeout;
+    private final DistributionSummary batchSizes;
+    private final Queue<Pending> submitted = Queues.<Pending>unboundedMultiproducer().get();
+    private final AtomicInteger draining = new AtomicInteger();
+    private final Set<Pending> outstanding = ConcurrentHashMap.newKeySet();
+    private volatile Sinks.Many<Pending> pending;
+    private volatile Disposable pipeline;
+    private volatile boolean disposed;
+
+    public CustomerByIdBatcher(HttpGraphQlClient httpClient, Duration window, int maxSize, int maxConcurrentBatches,
+                               Duration timeout, MeterRegistry meterRegistry) {
+        this.httpClient = httpClient;
+        this.window = window;
+        this.maxSize = maxSize;
+        this.maxConcurrentBatches = maxConcurrentBatches;
+        this.timeout = timeout;
+        this.batchSizes = DistributionSummary.builder("customer.client.batch.size")
+                .description("customerById lookups merged into one upstream request")
+                .register(meterRegistry);
+        start();
+    }
+
+    public Mono<CustomerDto> load(String id) {
+        return Mono.defer(() -> {
+            if (disposed) {
+                return Mono.error(new RejectedExecutionException("customerById batcher is disposed"));
+            }
+            Pending request = new Pending(id, Sinks.one());
+            outstanding.add(request);
+            submit(request);
+            return request.result().asMono().doFinally(signal -> outstanding.remove(request));
+        });
+    }
+
+    public void dispose() {
+        disposed = true;
+        pipeline.dispose();
+        failOutstanding(new RejectedExecutionException("customerById batcher is disposed"));
+    }
+
+    private synchronized void start() {
+        // Only drain() emits, one thread at a time, so the sink can skip its own serialization checks
+        Sinks.Many<Pending> sink = Sinks.unsafe().many().unicast().onBackpressureBuffer();
+        this.pending = sink;
+        this.pipeline = sink.asFlux()
+                // Fair variant: a batch is cut only when flatMap can take it, never overflowing
+                .bufferTimeout(maxSize, window, true)
+                .flatMap(this::dispatch, maxConcurrentBatches)
+                .subscribe(batch -> { }, this::restart);
+    }
+
+    private void restart(Throwable error) {
+        log.error("customerById batching failed, failing waiting callers and restarting", error);
+        failOutstanding(error);
+        if (!disposed) {
+            start();
+        }
+    }
+
+    private void failOutstanding(Throwable error) {
+        for (Pending request : outstanding) {
+            request.result().tryEmitError(error);
+        }
+    }
+
+    private void submit(Pending request) {
+        submitted.offer(request);
+        if (draining.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Pending next;
+            while ((next = submitted.poll()) != null) {
+                Sinks.EmitResult result = pending.tryEmitNext(next);
+                if (result.isFailure()) {
+                    next.result().tryEmitError(new RejectedExecutionException(
+                            "customerById batching is not accepting lookups: " + result));
+                }
+            }
+            missed = draining.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private Mono<Void> dispatch(List<Pending> batch) {
+        Map<String, List<Pending>> byId = new LinkedHashMap<>();
+        batch.forEach(p -> byId.computeIfAbsent(p.id(), k -> new ArrayList<>()).add(p));
+        batchSizes.record(byId.size());
+
+        List<String> ids = List.copyOf(byId.keySet());
+        Map<String, Object> variables = new LinkedHashMap<>();
+        StringBuilder parameters = new StringBuilder();
+        StringBuilder selections = new StringBuilder();
+        for (int i = 0; i < ids.size(); i++) {
+            variables.put("id" + i, ids.get(i));
+            parameters.append(i == 0 ? "" : ", ").append("$id").append(i).append(": ID!");
+            selections.append("  c").append(i).append(": customerById(id: $id").append(i).append(") ")
+                    .append(CUSTOMER_FIELDS).append('\n');
+        }
+        String document = "query (" + parameters + ") {\n" + selections + "}";
+
+        return httpClient.document(document)
+                .variables(variables)
+                .execute()
+                .timeout(timeout)
+                .doOnNext(response -> {
+                    for (int i = 0; i < ids.size(); i++) {
+                        complete(byId.get(ids.get(i)), response, "c" + i);
+                    }
+                })
+                .doOnError(e -> {
+                    log.error("Error fetching customers {}", ids, e);
+                    byId.values().forEach(callers -> callers.forEach(p -> p.result().tryEmitError(e)));
+                })
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    private static void complete(List<Pending> callers, ClientGraphQlResponse response, String alias) {
+        ClientResponseField field = response.field(alias);
+        try {
+            CustomerDto customer = field.getValue() == null && field.getErrors().isEmpty()
+                    ? null
+                    : field.toEntity(CustomerDto.class);
+            callers.forEach(p -> {
+                if (customer == null) {
+                    p.result().tryEmitEmpty();
+                } else {
+                    p.result().tryEmitValue(customer);
+                }
+            });
+        } catch (FieldAccessException e) {
+            callers.forEach(p -> p.result().tryEmitError(e));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.nkhan.clients.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nkhan.clients.dto.CustomerDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Id-keyed cache of downstream customers, fed by every upstream response that contains one.
+ * <p>
+ * A read takes a {@link #version()} before it goes upstream and passes it to {@link #merge} with its
+ * result. The result is dropped when the customer was evicted (deleted, or named by a
+ * {@code customerEvents} event) or written by a newer read or a mutation since that version, so a read
+ * that overlapped a change never brings the old customer back. Evictions are remembered for {@code ttl}
+ * (or until {@code maxEntries} of them pile up); once one is forgotten, every read older than it is
+ * dropped instead. Mutation results {@link #replace} the entry outright.
+ * Entries are bounded by {@code maxEntries} (W-TinyLFU) and expire {@code ttl} after they were last
+ * written, which bounds staleness when no invalidation reaches us.
+ * <p>
+ * Lookups are counted in {@code customer.client.entities.reads} by {@code outcome}: {@code hit} or
+ * {@code miss}; size and evictions are published as the {@code customer.client.entities} cache.
+ */
+public class CustomerEntityCache {
+
+    /** A cached customer and the version of the read or mutation that wrote it. */
+    private record Entry(CustomerDto customer, long version) {}
+
+    private final Cache<String, Entry> entities;
+    private final Cache<String, Long> evictions;
+    private final AtomicLong versions = new AtomicLong();
+    private volatile long clearedAt;
+    private final AtomicLong forgottenAt = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * @param maxEntries customers kept; zero disables the cache
+     * @param ttl        how long an entry is served after it was last written
+     */
+    public CustomerEntityCache(long maxEntries, Duration ttl, MeterRegistry meterRegistry) {
+        this.entities = maxEntries == 0 ? null : Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.evictions = maxEntries == 0 ? null : Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                // Maintenance on the caller, so a forgotten eviction raises the floor before the next merge
+                .executor(Runnable::run)
+                .<String, Long>evictionListener((id, evictedAt, cause) -> forgottenAt.accumulateAndGet(evictedAt, Math::max))
+                .build();
+        if (entities != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, entities, "customer.client.entities");
+        }
+        this.hits = reads("hit", meterRegistry);
+        this.misses = reads("miss", meterRegistry);
+    }
+
+    /**
+     * @return the cached customer, or {@code null}
+     */
+    public CustomerDto get(String id) {
+        Entry entry = entities == null ? null : entities.getIfPresent(id);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.customer();
+    }
+
+    /**
+     * Version to take before reading upstream and to hand to {@link #merge} with the result.
+     */
+    public long version() {
+        return versions.incrementAndGet();
+    }
+
+    /**
+     * Stores a customer read upstream by a read that started at {@code readVersion}, unless the customer
+     * was evicted or written since.
+     */
+    public void merge(CustomerDto customer, long readVersion) {
+        if (entities == null || customer == null || customer.id() == null) {
+            return;
+        }
+        // Per-key compute serializes this check with evict() and replace() of the same customer
+        entities.asMap().compute(customer.id(), (id, current) -> {
+            Long evictedAt = evictions.getIfPresent(id);
+            if (clearedAt > readVersion || forgottenAt.get() > readVersion || (evictedAt != null && evictedAt > readVersion)
+                    || (current != null && current.version() > readVersion)) {
+                return current;
+            }
+            return new Entry(customer, readVersion);
+        });
+    }
+
+    /**
+     * Replaces the entry with a customer returned by a mutation.
+     */
+    public void replace(CustomerDto customer) {
+        if (entities != null && customer != null && customer.id() != null) {
+            entities.asMap().compute(customer.id(), (id, current) -> new Entry(customer, versions.incrementAndGet()));
+        }
+    }
+
+    public void evict(String id) {
+        if (entities != null && id != null) {
+            entities.asMap().compute(id, (key, current) -> {
+                evictions.put(key, versions.incrementAndGet());
+                return null;
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        if (entities != null) {
+            // Before clearing, so a merge computed after the clear sees it
+            clearedAt = versions.incrementAndGet();
+            entities.invalidateAll();
+        }
+    }
+
+    private static Counter reads(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("customer.client.entities.reads")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
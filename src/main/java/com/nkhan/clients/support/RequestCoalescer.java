@@ -0,0 +1,152 @@
+package com.nkhan.clients.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of idempotent downstream reads, with an optional short-TTL response cache.
+ * <p>
+ * Concurrent calls with the same {@link Key} (document and variables) share one in-flight {@link Mono};
+ * the entry is dropped when that call terminates, so the next caller issues a fresh request. When the
+ * cache is enabled, a fresh entry is served directly, and an entry older than {@code ttl} but within
+ * {@code ttl + staleWhileRevalidate} is served as-is while one background call refreshes it.
+ * <p>
+ * Every read is counted in {@code customer.client.reads} by {@code outcome}: {@code issued},
+ * {@code coalesced}, {@code cached} or {@code stale}; {@code customer.client.reads.coalescing.ratio} is
+ * reads served without a new request per request issued. A stale read counts as {@code stale} alone,
+ * whether its background refresh starts a call or joins one; a refresh that starts a call still counts
+ * as a request issued in the ratio.
+ * <p>
+ * {@link #invalidateAll()} also detaches calls in flight: later callers start a fresh one, and a call
+ * that started before the invalidation does not cache its result.
+ */
+@Slf4j
+public class RequestCoalescer {
+
+    public record Key(String document, Map<String, Object> variables) {}
+
+    private record Entry(Object value, long fetchedAt) {}
+
+    private final ConcurrentMap<Key, Mono<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<Key, Entry> cache;
+    private final long ttlNanos;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final LongAdder issued = new LongAdder();
+    private final LongAdder saved = new LongAdder();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * @param ttl                  how long a response is served without revalidation; zero disables the cache
+     * @param staleWhileRevalidate how long past {@code ttl} a response may still be served while refreshing
+     * @param maxEntries           bound on cached responses
+     */
+    public RequestCoalescer(Duration ttl, Duration staleWhileRevalidate, long maxEntries, MeterRegistry meterRegistry) {
+        this.ttlNanos = ttl.toNanos();
+        this.cache = ttl.isZero() ? null : Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl.plus(staleWhileRevalidate))
+                .build();
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("customer.client.reads.coalescing.ratio", this, RequestCoalescer::coalescingRatio)
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <V> Mono<V> execute(String operation, Key key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> {
+            if (cache != null) {
+                Entry entry = cache.getIfPresent(key);
+                if (entry != null) {
+                    if (System.nanoTime() - entry.fetchedAt() <= ttlNanos) {
+                        count(operation, "cached");
+                        return Mono.just((V) entry.value());
+                    }
+                    count(operation, "stale");
+                    singleFlight(operation, key, call, false)
+                            .subscribe(value -> { }, e -> log.warn("Revalidation of {} failed", operation, e));
+                    return Mono.just((V) entry.value());
+                }
+            }
+            return singleFlight(operation, key, call, true);
+        });
+    }
+
+    /**
+     * Drops every cached response and detaches the calls in flight, e.g. after a mutation changed
+     * downstream state.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        inFlight.clear();
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * @param counted whether this read is counted here; a revalidation was already counted as stale
+     */
+    @SuppressWarnings("unchecked")
+    private <V> Mono<V> singleFlight(String operation, Key key, Supplier<Mono<V>> call, boolean counted) {
+        boolean[] leader = {false};
+        Mono<Object> shared = inFlight.computeIfAbsent(key, k -> {
+            leader[0] = true;
+            long started = generation.get();
+            AtomicReference<Mono<Object>> self = new AtomicReference<>();
+            Mono<Object> flight = ((Mono<Object>) call.get())
+                    .doOnNext(value -> {
+                        if (cache != null && generation.get() == started) {
+                            cache.put(k, new Entry(value, System.nanoTime()));
+                            if (generation.get() != started) {
+                                // invalidateAll() ran between the check and the put
+                                cache.invalidate(k);
+                            }
+                        }
+                    })
+                    // Drop the entry before subscribers see the result, so a caller arriving right after
+                    // completion issues a new call instead of reading the finished one. Only this call's
+                    // entry: after an invalidation the key may already belong to a newer call.
+                    .doOnSuccess(value -> inFlight.remove(k, self.get()))
+                    .doOnError(e -> inFlight.remove(k, self.get()))
+                    .doOnCancel(() -> inFlight.remove(k, self.get()))
+                    .share();
+            self.set(flight);
+            return flight;
+        });
+        if (counted) {
+            count(operation, leader[0] ? "issued" : "coalesced");
+        } else if (leader[0]) {
+            issued.increment();
+        }
+        return (Mono<V>) shared;
+    }
+
+    private void count(String operation, String outcome) {
+        counters.computeIfAbsent(operation + '/' + outcome, k -> Counter.builder("customer.client.reads")
+                        .tag("operation", operation)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry))
+                .increment();
+        ("issued".equals(outcome) ? issued : saved).increment();
+    }
+
+    private double coalescingRatio() {
+        long issuedCount = issued.sum();
+        return issuedCount == 0 ? 0 : (double) saved.sum() / issuedCount;
+    }
+}
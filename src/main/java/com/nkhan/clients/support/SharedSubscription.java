@@ -0,0 +1,138 @@
+package com.nkhan.clients.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * One upstream subscription fanned out to any number of local subscribers.
+ * <p>
+ * The upstream is opened by the first subscriber and closed {@code linger} after the last one leaves.
+ * If it fails or completes, it is resubscribed with exponential backoff between {@code minBackoff} and
+ * {@code maxBackoff}; local subscribers stay attached and simply see no events meanwhile. Each subscriber
+ * gets its own buffer of {@code bufferSize} events, so a slow consumer never holds back the others; when
+ * that buffer is full the {@link OverflowPolicy} decides what gives.
+ * <p>
+ * Metrics, tagged with {@code subscription}: {@code customer.client.subscription.subscribers},
+ * {@code customer.client.subscription.lag.max} (most events buffered for any one subscriber),
+ * {@code customer.client.subscription.dropped} by {@code policy} and
+ * {@code customer.client.subscription.resubscribes}.
+ */
+@Slf4j
+public class SharedSubscription<T> {
+
+    public enum OverflowPolicy {
+        /** Discard the oldest buffered event to make room. */
+        DROP_OLDEST,
+        /** Discard the incoming event. */
+        DROP_LATEST,
+        /** Terminate the slow subscriber with an overflow error. */
+        DISCONNECT
+    }
+
+    /** Events one subscriber has been handed by the upstream versus passed on downstream. */
+    private static final class Lag {
+        final AtomicLong received = new AtomicLong();
+        final AtomicLong done = new AtomicLong();
+
+        long current() {
+            return received.get() - done.get();
+        }
+    }
+
+    private final String name;
+    private final Flux<T> shared;
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final Set<Lag> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter dropped;
+    private final Counter resubscribes;
+
+    public SharedSubscription(String name, Supplier<Flux<T>> upstream, int bufferSize, OverflowPolicy overflowPolicy,
+                              Duration minBackoff, Duration maxBackoff, Duration linger,
+                              MeterRegistry meterRegistry) {
+        this.name = name;
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.dropped = Counter.builder("customer.client.subscription.dropped")
+                .tag("subscription", name)
+                .tag("policy", overflowPolicy.name().toLowerCase())
+                .register(meterRegistry);
+        this.resubscribes = Counter.builder("customer.client.subscription.resubscribes")
+                .tag("subscription", name)
+                .register(meterRegistry);
+        Gauge.builder("customer.client.subscription.subscribers", subscribers, Set::size)
+                .tag("subscription", name)
+                .register(meterRegistry);
+        Gauge.builder("customer.client.subscription.lag.max", this, SharedSubscription::maxLag)
+                .tag("subscription", name)
+                .register(meterRegistry);
+
+        this.shared = Flux.defer(upstream)
+                // A completed upstream is treated like a dropped one: reconnect after backoff.
+                .concatWith(Mono.error(() -> new UpstreamCompletedException(name)))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, minBackoff)
+                        .maxBackoff(maxBackoff)
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> {
+                            resubscribes.increment();
+                            log.warn("Upstream subscription {} ended, resubscribing (attempt {})",
+                                    name, signal.totalRetriesInARow() + 1, signal.failure());
+                        }))
+                .publish()
+                .refCount(1, linger);
+    }
+
+    public Flux<T> subscribe() {
+        return Flux.defer(() -> {
+            Lag lag = new Lag();
+            subscribers.add(lag);
+            return shared
+                    .doOnNext(event -> lag.received.incrementAndGet())
+                    .onBackpressureBuffer(bufferSize, event -> {
+                        lag.done.incrementAndGet();
+                        dropped.increment();
+                    }, strategy(overflowPolicy))
+                    .doOnNext(event -> lag.done.incrementAndGet())
+                    .doOnError(e -> log.warn("Disconnected slow subscriber of {}", name))
+                    .doFinally(signal -> subscribers.remove(lag));
+        });
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private long maxLag() {
+        long max = 0;
+        for (Lag lag : subscribers) {
+            max = Math.max(max, lag.current());
+        }
+        return max;
+    }
+
+    private static BufferOverflowStrategy strategy(OverflowPolicy policy) {
+        return switch (policy) {
+            case DROP_OLDEST -> BufferOverflowStrategy.DROP_OLDEST;
+            case DROP_LATEST -> BufferOverflowStrategy.DROP_LATEST;
+            case DISCONNECT -> BufferOverflowStrategy.ERROR;
+        };
+    }
+
+    static final class UpstreamCompletedException extends RuntimeException {
+        UpstreamCompletedException(String name) {
+            super("Upstream subscription " + name + " completed");
+        }
+    }
+}
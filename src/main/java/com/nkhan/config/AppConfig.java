@@ -1,45 +1,31 @@
 package com.nkhan.config;
 
-import com.nkhan.payment.model.WalletDto;
-import com.nkhan.union.model.ArticleDto;
-import com.nkhan.union.model.ProductDto;
-import com.nkhan.union.model.UserDto;
-import graphql.scalars.ExtendedScalars;
-import graphql.schema.TypeResolver;
+import com.nkhan.payment.model.PaymentMethod;
+import com.nkhan.schema.SealedTypeResolver;
+import com.nkhan.union.model.SearchResult;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.graphql.execution.ClassNameTypeResolver;
 import org.springframework.graphql.execution.RuntimeWiringConfigurer;
 
+import java.util.List;
+
 @Configuration
 public class AppConfig {
 
+    /** Interfaces and unions resolved by the class of their values, checked against the SDL at startup. */
+    private final List<SealedTypeResolver> typeResolvers = List.of(
+            SealedTypeResolver.of("PaymentMethod", PaymentMethod.class),
+            SealedTypeResolver.of("SearchResult", SearchResult.class));
+
     @Bean
     public RuntimeWiringConfigurer configurer(){
-        return  c -> c.scalar(ExtendedScalars.GraphQLLong)
-                .scalar(ExtendedScalars.GraphQLByte)
-                .scalar(ExtendedScalars.GraphQLShort)
-                .scalar(ExtendedScalars.GraphQLBigDecimal)
-                .scalar(ExtendedScalars.GraphQLBigInteger)
-                .scalar(ExtendedScalars.Date)
-                .scalar(ExtendedScalars.GraphQLBigDecimal)
-                .scalar(ExtendedScalars.LocalTime)
-                .scalar(ExtendedScalars.Object)
-                .scalar(ExtendedScalars.DateTime)
-                .type("PaymentMethod", typeWiring -> typeWiring.typeResolver(typeResolver()))
-                .type("SearchResult", typeWiring -> typeWiring.typeResolver(typeResolver()));
-
-
+        return c -> typeResolvers.forEach(resolver ->
+                c.type(resolver.abstractType(), typeWiring -> typeWiring.typeResolver(resolver)));
     }
 
     @Bean
-    public TypeResolver typeResolver(){
-        ClassNameTypeResolver resolver = new ClassNameTypeResolver();
-        resolver.addMapping(WalletDto.class, "Wallet");
-        resolver.addMapping(ArticleDto.class, "Article");
-        resolver.addMapping(ProductDto.class, "Products");
-        resolver.addMapping(UserDto.class, "User");
-
-        return resolver;
+    public GraphQlSourceBuilderCustomizer typeResolverValidation() {
+        return builder -> builder.configureTypeDefinitions(registry -> typeResolvers.forEach(r -> r.validate(registry)));
     }
 }
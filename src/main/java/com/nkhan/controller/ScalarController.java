@@ -20,9 +20,12 @@ import java.util.concurrent.ThreadLocalRandom;
 @Controller
 public class ScalarController {
 
+    // Built once; only the clock and the role differ between responses
+    private static final BigDecimal BIG_DECIMAL = BigDecimal.valueOf(9999.99);
+    private static final BigInteger BIG_INTEGER = BigInteger.valueOf(1234567890L);
+
     @QueryMapping("get")
     public Mono<AllScalarType>  getAllTypes(){
-        System.out.println("its called");
         final var  isTrue =   ThreadLocalRandom.current().nextBoolean();
         return Mono.just(AllScalarType.builder()
                 .id("12345")
@@ -33,8 +36,8 @@ public class ScalarController {
                 .distance(123.45)
                 .currentYear((byte) 25)
                 .currentMonth((short) 9)
-                .bigDecimal(BigDecimal.valueOf(9999.99))
-                .bigInteger(BigInteger.valueOf(1234567890L))
+                .bigDecimal(BIG_DECIMAL)
+                .bigInteger(BIG_INTEGER)
                 .date(LocalDate.now())
                 .time(LocalTime.now())
                 .dateTime(OffsetDateTime.now())
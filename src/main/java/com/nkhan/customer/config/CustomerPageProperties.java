@@ -0,0 +1,16 @@
+package com.nkhan.customer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Page sizes of {@code Query.customersConnection}.
+ *
+ * @param defaultSize customers per page when {@code first} is omitted
+ * @param maxSize     upper bound on {@code first}; larger requests get this many
+ */
+@ConfigurationProperties(prefix = "customer.page")
+public record CustomerPageProperties(
+        @DefaultValue("50") int defaultSize,
+        @DefaultValue("500") int maxSize
+) {}
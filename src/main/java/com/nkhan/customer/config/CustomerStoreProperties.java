@@ -0,0 +1,21 @@
+package com.nkhan.customer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Source of the in-memory customer and order stores.
+ *
+ * @param location     JSON array of customers (each optionally carrying its {@code orders}) streamed at startup;
+ *                     an empty or missing resource yields empty stores
+ * @param batchSize    customers per store segment; each batch becomes queryable as soon as it is parsed
+ * @param mappedWindow size of each memory-mapped region when the location is a plain file
+ */
+@ConfigurationProperties(prefix = "customer.store")
+public record CustomerStoreProperties(
+        @DefaultValue("classpath:json/customers.json") Resource location,
+        @DefaultValue("50000") int batchSize,
+        @DefaultValue("256MB") DataSize mappedWindow
+) {}
@@ -0,0 +1,31 @@
+package com.nkhan.customer.config;
+
+import com.nkhan.customer.model.CustomerOrder;
+import com.nkhan.customer.service.OrderService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+
+import java.util.List;
+
+/**
+ * Registers the {@code customerOrders} DataLoader: all customer names requested in one execution level
+ * go to {@link OrderService#getOrderByCustomerName(List)} as a single call, and results are matched
+ * back by name. The DataLoader is created per request, so its cache only de-duplicates within a request.
+ */
+@Configuration
+@EnableConfigurationProperties(OrderDataLoaderProperties.class)
+public class OrderDataLoaderConfig {
+
+    public static final String CUSTOMER_ORDERS = "customerOrders";
+
+    public OrderDataLoaderConfig(BatchLoaderRegistry registry, OrderService orderService,
+                                 OrderDataLoaderProperties properties) {
+        registry.<String, List<CustomerOrder>>forName(CUSTOMER_ORDERS)
+                .withOptions(options -> options
+                        .setMaxBatchSize(properties.maxBatchSize())
+                        .setCachingEnabled(properties.cache()))
+                .registerMappedBatchLoader((names, env) ->
+                        orderService.getOrderByCustomerName(List.copyOf(names)));
+    }
+}
@@ -0,0 +1,16 @@
+package com.nkhan.customer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Tuning for the {@code customerOrders} DataLoader.
+ *
+ * @param maxBatchSize largest number of customer names sent to {@code OrderService} in one call
+ * @param cache        de-duplicate repeated keys within one request
+ */
+@ConfigurationProperties(prefix = "graphql.dataloader.orders")
+public record OrderDataLoaderProperties(
+        @DefaultValue("500") int maxBatchSize,
+        @DefaultValue("true") boolean cache
+) {}
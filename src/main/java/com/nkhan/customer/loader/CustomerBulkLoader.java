@@ -0,0 +1,172 @@
+package com.nkhan.customer.loader;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.nkhan.customer.config.CustomerStoreProperties;
+import com.nkhan.customer.model.Customer;
+import com.nkhan.customer.model.CustomerOrder;
+import com.nkhan.customer.store.CustomerStore;
+import com.nkhan.customer.store.OrderStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Streams the customer dataset into {@link CustomerStore} and {@link OrderStore} after the application
+ * is up. The file is read through Jackson's streaming parser, one array element at a time, over a
+ * memory-mapped file when the resource is a plain file, so the whole document is never held as a tree.
+ * Each batch is published as soon as it is parsed. {@link CustomerLoadHealthIndicator} keeps readiness
+ * down until the load finishes.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(CustomerStoreProperties.class)
+public class CustomerBulkLoader {
+
+    private final CustomerStoreProperties properties;
+    private final ObjectMapper objectMapper;
+    private final CustomerStore customerStore;
+    private final OrderStore orderStore;
+    private final CompletableFuture<LoadProgress> completion = new CompletableFuture<>();
+    private volatile LoadProgress progress = LoadProgress.PENDING;
+
+    public CustomerBulkLoader(CustomerStoreProperties properties, ObjectMapper objectMapper,
+                              CustomerStore customerStore, OrderStore orderStore) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.customerStore = customerStore;
+        this.orderStore = orderStore;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread loader = new Thread(this::load, "customer-bulk-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    public LoadProgress progress() {
+        return progress;
+    }
+
+    /**
+     * Completes with the final progress once the load has finished or failed.
+     */
+    public CompletableFuture<LoadProgress> completion() {
+        return completion;
+    }
+
+    void load() {
+        Resource resource = properties.location();
+        long started = System.nanoTime();
+        Counters counters = new Counters();
+        progress = counters.snapshot(LoadProgress.State.LOADING, started, null);
+        try (InputStream in = open(resource)) {
+            if (in != null) {
+                read(in, counters, started);
+            }
+            customerStore.compact();
+            progress = counters.snapshot(LoadProgress.State.COMPLETED, started, null);
+            log.info("Loaded {} customers and {} orders from {} in {} ms ({} rows/s, peak heap {} MB)",
+                    progress.customers(), progress.orders(), resource, progress.elapsed().toMillis(),
+                    progress.rowsPerSecond(), progress.peakHeapBytes() / (1024 * 1024));
+        } catch (IOException | RuntimeException e) {
+            log.error("Customer bulk load from {} failed", resource, e);
+            progress = counters.snapshot(LoadProgress.State.FAILED, started, e.getMessage());
+        }
+        completion.complete(progress);
+    }
+
+    private void read(InputStream in, Counters counters, long started) throws IOException {
+        ObjectReader rowReader = objectMapper.readerFor(CustomerRow.class);
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            JsonToken first = parser.nextToken();
+            if (first == null) {
+                return;
+            }
+            if (first != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of customers but found " + first);
+            }
+            List<Customer> customers = new ArrayList<>(properties.batchSize());
+            Map<String, List<CustomerOrder>> orders = new HashMap<>();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                CustomerRow row = rowReader.readValue(parser);
+                customers.add(row.toCustomer());
+                if (row.orders() != null && !row.orders().isEmpty()) {
+                    orders.put(row.name(), List.copyOf(row.orders()));
+                    counters.orders += row.orders().size();
+                }
+                if (customers.size() == properties.batchSize()) {
+                    publish(customers, orders, counters, started);
+                    customers = new ArrayList<>(properties.batchSize());
+                    orders = new HashMap<>();
+                }
+            }
+            publish(customers, orders, counters, started);
+        }
+    }
+
+    private void publish(List<Customer> customers, Map<String, List<CustomerOrder>> orders,
+                         Counters counters, long started) {
+        // Orders first, so a customer visible in the store already has its orders.
+        orderStore.putAll(orders);
+        customerStore.append(customers);
+        counters.customers += customers.size();
+        Runtime runtime = Runtime.getRuntime();
+        counters.peakHeap = Math.max(counters.peakHeap, runtime.totalMemory() - runtime.freeMemory());
+        progress = counters.snapshot(LoadProgress.State.LOADING, started, null);
+    }
+
+    private InputStream open(Resource resource) throws IOException {
+        if (!resource.exists() || resource.contentLength() == 0) {
+            log.warn("No customers found at {}", resource);
+            return null;
+        }
+        if (resource.isFile()) {
+            return new MappedFileInputStream(resource.getFile().toPath(), properties.mappedWindow().toBytes());
+        }
+        return resource.getInputStream();
+    }
+
+    private static final class Counters {
+        long customers;
+        long orders;
+        long peakHeap;
+
+        LoadProgress snapshot(LoadProgress.State state, long started, String error) {
+            return new LoadProgress(state, customers, orders, Duration.ofNanos(System.nanoTime() - started),
+                    peakHeap, error);
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record CustomerRow(
+            String name,
+            Integer customerId,
+            String city,
+            String state,
+            String country,
+            String pinCode,
+            String address,
+            List<CustomerOrder> orders
+    ) {
+        Customer toCustomer() {
+            return new Customer(name, customerId, city, state, country, pinCode, address);
+        }
+    }
+}
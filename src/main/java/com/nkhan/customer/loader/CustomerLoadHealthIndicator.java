@@ -0,0 +1,35 @@
+package com.nkhan.customer.loader;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code customerLoad} health contributor: {@code OUT_OF_SERVICE} while the bulk load runs, {@code DOWN}
+ * if it failed. It is part of the readiness group, so traffic is held back until the stores are full.
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerLoadHealthIndicator implements HealthIndicator {
+
+    private final CustomerBulkLoader loader;
+
+    @Override
+    public Health health() {
+        LoadProgress progress = loader.progress();
+        Health.Builder builder = switch (progress.state()) {
+            case COMPLETED -> Health.up();
+            case FAILED -> Health.down().withDetail("error", String.valueOf(progress.error()));
+            case PENDING, LOADING -> Health.outOfService();
+        };
+        return builder
+                .withDetail("state", progress.state())
+                .withDetail("customers", progress.customers())
+                .withDetail("orders", progress.orders())
+                .withDetail("elapsedMs", progress.elapsed().toMillis())
+                .withDetail("rowsPerSecond", progress.rowsPerSecond())
+                .withDetail("peakHeapBytes", progress.peakHeapBytes())
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.nkhan.customer.loader;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of the customer bulk load.
+ *
+ * @param state         where the load is
+ * @param customers     customers parsed so far
+ * @param orders        orders parsed so far
+ * @param elapsed       time since the load started
+ * @param peakHeapBytes highest used heap observed between batches
+ * @param error         failure message when {@code state} is {@link State#FAILED}
+ */
+public record LoadProgress(
+        State state,
+        long customers,
+        long orders,
+        Duration elapsed,
+        long peakHeapBytes,
+        String error
+) {
+    public enum State {
+        PENDING,
+        LOADING,
+        COMPLETED,
+        FAILED
+    }
+
+    static final LoadProgress PENDING = new LoadProgress(State.PENDING, 0, 0, Duration.ZERO, 0, null);
+
+    public long rowsPerSecond() {
+        long millis = elapsed.toMillis();
+        return millis == 0 ? customers : customers * 1000 / millis;
+    }
+}
@@ -0,0 +1,79 @@
+package com.nkhan.customer.loader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sequential {@link InputStream} over a file that is memory-mapped one window at a time, so files larger
+ * than a single {@link MappedByteBuffer} (2 GB) can be read, and the page cache backs the bytes instead
+ * of heap buffers. Only the current window is referenced; earlier windows become unreachable.
+ */
+final class MappedFileInputStream extends InputStream {
+
+    private final FileChannel channel;
+    private final long size;
+    private final long windowSize;
+    private long windowStart;
+    private MappedByteBuffer window;
+
+    MappedFileInputStream(Path path, long windowSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = Math.min(Math.max(windowSize, 4096), Integer.MAX_VALUE);
+        this.windowStart = 0;
+        this.window = map(0);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureRemaining()) {
+            return -1;
+        }
+        return window.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!ensureRemaining()) {
+            return -1;
+        }
+        int count = Math.min(length, window.remaining());
+        window.get(buffer, offset, count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return window.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean ensureRemaining() throws IOException {
+        if (window.hasRemaining()) {
+            return true;
+        }
+        long next = windowStart + window.capacity();
+        if (next >= size) {
+            return false;
+        }
+        windowStart = next;
+        window = map(next);
+        return true;
+    }
+
+    private MappedByteBuffer map(long position) throws IOException {
+        long length = Math.min(windowSize, size - position);
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+    }
+}
@@ -0,0 +1,35 @@
+package com.nkhan.customer.model;
+
+import com.nkhan.customer.service.CustomerCursors;
+
+import java.util.List;
+
+/**
+ * One page of {@code Query.customersConnection}; the schema types are generated from the
+ * {@code Connection} naming convention. Cursors are encoded from the customers when a client selects
+ * them, so a page costs one allocation per edge and clients reading only nodes pay nothing for cursors.
+ */
+public record CustomerConnection(List<Edge> edges, PageInfo pageInfo) {
+
+    public record Edge(Customer node) {
+
+        public String cursor() {
+            return CustomerCursors.encode(node.customerId());
+        }
+    }
+
+    /**
+     * @param start first customer of the page, {@code null} when the page is empty
+     * @param end   last customer of the page, {@code null} when the page is empty
+     */
+    public record PageInfo(boolean hasPreviousPage, boolean hasNextPage, Customer start, Customer end) {
+
+        public String startCursor() {
+            return start == null ? null : CustomerCursors.encode(start.customerId());
+        }
+
+        public String endCursor() {
+            return end == null ? null : CustomerCursors.encode(end.customerId());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.nkhan.customer.service;
+
+import org.springframework.graphql.data.pagination.CursorEncoder;
+
+/**
+ * Opaque {@code customersConnection} cursors: the base64 of {@code customer:<id>}. Clients must not
+ * rely on the format, which leaves room to change the sort key later.
+ */
+public final class CustomerCursors {
+
+    private static final String PREFIX = "customer:";
+    private static final CursorEncoder ENCODER = CursorEncoder.base64();
+
+    private CustomerCursors() {
+    }
+
+    public static String encode(int customerId) {
+        return ENCODER.encode(PREFIX + customerId);
+    }
+
+    public static int decode(String cursor) {
+        try {
+            String decoded = ENCODER.decode(cursor);
+            if (decoded.startsWith(PREFIX)) {
+                return Integer.parseInt(decoded.substring(PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // not base64, or not a number: reported below
+        }
+        throw new InvalidPageRequestException("Invalid cursor: " + cursor);
+    }
+}
@@ -1,8 +1,8 @@
 package com.nkhan.customer.service;
 
 import com.nkhan.customer.model.Customer;
+import com.nkhan.customer.model.CustomerConnection;
 import com.nkhan.customer.model.IdRangeFilter;
-import org.apache.logging.log4j.LogBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -13,4 +13,9 @@ public interface CustomerService {
     Mono<Customer> findCustomerById(Integer customerId);
 
     Flux<Customer> findCustomerByIdRange(IdRangeFilter idFilter);
+
+    /**
+     * Up to {@code first} customers after the one {@code after} points to, in ascending id order.
+     */
+    Mono<CustomerConnection> findCustomerPage(Integer first, String after);
 }
@@ -0,0 +1,11 @@
+package com.nkhan.customer.service;
+
+/**
+ * A page request the client has to fix: an unreadable cursor or a negative page size.
+ */
+public class InvalidPageRequestException extends RuntimeException {
+
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
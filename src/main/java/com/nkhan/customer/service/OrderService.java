@@ -2,13 +2,19 @@ package com.nkhan.customer.service;
 
 import com.nkhan.customer.model.CustomerOrder;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.Map;
 
 public interface OrderService {
 
 
     Flux<CustomerOrder> getOrderByCustomerName(String name);
 
-    Flux<List<CustomerOrder>> getOrderByCustomerName(List<String> names);
+    /**
+     * Orders for several customers in one call, keyed by customer name. Every requested name is present
+     * in the result, with an empty list when the customer has no orders.
+     */
+    Mono<Map<String, List<CustomerOrder>>> getOrderByCustomerName(List<String> names);
 }
@@ -1,70 +1,86 @@
 package com.nkhan.customer.service.impl;
 
+import com.nkhan.customer.config.CustomerPageProperties;
 import com.nkhan.customer.model.Customer;
+import com.nkhan.customer.model.CustomerConnection;
 import com.nkhan.customer.model.IdRangeFilter;
+import com.nkhan.customer.service.CustomerCursors;
 import com.nkhan.customer.service.CustomerService;
+import com.nkhan.customer.service.InvalidPageRequestException;
+import com.nkhan.customer.store.CustomerStore;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.concurrent.ThreadLocalRandom;
-
-import static com.nkhan.util.RandomStringGenerator.randomString;
+import java.util.List;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
+@EnableConfigurationProperties(CustomerPageProperties.class)
 public class CustomerServiceImpl implements CustomerService {
-    private final Flux<Customer> customerFlux = Flux.just(
-            Customer.builder()
-                    .name("John Doe")
-                    .customerId(101)
-                    .city("Riyadh")
-                    .state("Riyadh")
-                    .country("Saudi Arabia")
-                    .pinCode("11564")
-                    .address("King Fahd Road 123")
-                    .build(),
-
-            Customer.builder()
-                    .name("Jane Smith")
-                    .customerId(102)
-                    .city("Jeddah")
-                    .state("Makkah")
-                    .country("Saudi Arabia")
-                    .pinCode("21433")
-                    .address("Al Hamra Street 56")
-                    .build(),
+    private final CustomerStore customerStore;
+    private final CustomerPageProperties pageProperties;
 
-            Customer.builder()
-                    .name("Ali Khan")
-                    .customerId(103)
-                    .city("Dammam")
-                    .state("Eastern Province")
-                    .country("Saudi Arabia")
-                    .pinCode("32241")
-                    .address("Prince Nayef Road 45")
-                    .build());
     @Override
     public Flux<Customer> findAllCustomers() {
-        return customerFlux;
+        return Flux.defer(() -> Flux.fromIterable(customerStore.all()));
     }
 
     @Override
     public Flux<Customer> customerByAddressContain(String address) {
-        return customerFlux.filter(customer -> customer.address().contains(address));
+        if (address == null) {
+            return Flux.empty();
+        }
+        return Flux.defer(() -> Flux.fromIterable(customerStore.addressContains(address)));
     }
 
     @Override
     public Mono<Customer> findCustomerById(Integer customerId) {
-        return customerFlux.filter(e-> e.customerId().equals(customerId))
-                .next();
+        if (customerId == null) {
+            return Mono.empty();
+        }
+        return Mono.fromSupplier(() -> customerStore.byId(customerId));
     }
 
     @Override
     public Flux<Customer> findCustomerByIdRange(IdRangeFilter idFilter) {
-        return customerFlux.filter(e-> e.customerId() >= idFilter.minAge()
-            && e.customerId() <= idFilter.maxAge()
-        );
+        int min = idFilter == null || idFilter.minAge() == null ? Integer.MIN_VALUE : idFilter.minAge();
+        int max = idFilter == null || idFilter.maxAge() == null ? Integer.MAX_VALUE : idFilter.maxAge();
+        return Flux.defer(() -> Flux.fromIterable(customerStore.byIdRange(min, max)));
+    }
+
+    /**
+     * Streams the store from the cursor and requests one customer more than the page, which tells whether
+     * another page follows; nothing beyond that is read, so memory stays proportional to the page.
+     */
+    @Override
+    public Mono<CustomerConnection> findCustomerPage(Integer first, String after) {
+        if (first != null && first < 0) {
+            return Mono.error(new InvalidPageRequestException("first must not be negative: " + first));
+        }
+        int pageSize = Math.min(first == null ? pageProperties.defaultSize() : first, pageProperties.maxSize());
+        return Mono.defer(() -> {
+            int afterId = after == null ? Integer.MIN_VALUE : CustomerCursors.decode(after);
+            return Flux.fromIterable(() -> customerStore.iterateAfter(afterId))
+                    .take(pageSize + 1L, true)
+                    .collectList()
+                    .map(customers -> connection(customers, pageSize, after != null));
+        });
+    }
+
+    private static CustomerConnection connection(List<Customer> customers, int pageSize, boolean hasPrevious) {
+        List<CustomerConnection.Edge> edges = customers.stream()
+                .limit(pageSize)
+                .map(CustomerConnection.Edge::new)
+                .toList();
+        return new CustomerConnection(edges, new CustomerConnection.PageInfo(
+                hasPrevious,
+                customers.size() > pageSize,
+                edges.isEmpty() ? null : edges.get(0).node(),
+                edges.isEmpty() ? null : edges.get(edges.size() - 1).node()));
     }
 }
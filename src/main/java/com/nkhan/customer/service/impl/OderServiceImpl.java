@@ -2,33 +2,33 @@ package com.nkhan.customer.service.impl;
 
 import com.nkhan.customer.model.CustomerOrder;
 import com.nkhan.customer.service.OrderService;
+import com.nkhan.customer.store.OrderStore;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class OderServiceImpl implements OrderService {
-    private final   Map<String, List<CustomerOrder>> orders = Map.of("John Doe",
-            List.of(
-                    CustomerOrder.builder().orderId(UUID.randomUUID().toString()).description("IPhone-16").build(),
-                    CustomerOrder.builder().orderId(UUID.randomUUID().toString()).description("Mac-book-Pro 16").build()),
-            "Jane Smith",
-            List.of(
-                    CustomerOrder.builder().orderId(UUID.randomUUID().toString()).description("IPhone-16").build(),
-                    CustomerOrder.builder().orderId(UUID.randomUUID().toString()).description("Mac-book-Pro 16").build())
-    );
+    private final OrderStore orderStore;
+
     @Override
     public Flux<CustomerOrder> getOrderByCustomerName(String name) {
-        return Flux.fromIterable(orders.getOrDefault(name, List.of()));
+        return Flux.defer(() -> Flux.fromIterable(orderStore.findByCustomerName(name)));
     }
 
     @Override
-    public Flux<List<CustomerOrder>> getOrderByCustomerName(List<String> names) {
-        return Flux.fromIterable(names).map(name-> orders.getOrDefault(name, List.of()));
+    public Mono<Map<String, List<CustomerOrder>>> getOrderByCustomerName(List<String> names) {
+        return Mono.fromSupplier(() -> names.stream()
+                .distinct()
+                .collect(Collectors.toMap(Function.identity(), orderStore::findByCustomerName)));
     }
 }
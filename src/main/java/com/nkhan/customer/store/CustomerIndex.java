@@ -0,0 +1,109 @@
+package com.nkhan.customer.store;
+
+import com.nkhan.customer.model.Customer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable, indexed snapshot of customers:
+ * <ul>
+ *     <li>{@code customerId -> slot} in a primitive hash map for O(1) lookups,</li>
+ *     <li>customers kept in ascending id order so a range is two binary searches and a slice,</li>
+ *     <li>a trigram index over {@code address} so contains-queries only verify candidates.</li>
+ * </ul>
+ * Customers without an id are not indexed. When ids repeat, the first occurrence wins.
+ */
+public final class CustomerIndex {
+
+    private final Customer[] customers;
+    private final int[] ids;
+    private final IntIntHashMap slotsById;
+    private final TrigramIndex addresses;
+
+    public CustomerIndex(List<Customer> source) {
+        Customer[] sorted = source.stream()
+                .filter(c -> c.customerId() != null)
+                .sorted(Comparator.comparingInt(Customer::customerId))
+                .toArray(Customer[]::new);
+
+        IntIntHashMap slots = new IntIntHashMap(sorted.length);
+        List<Customer> unique = new ArrayList<>(sorted.length);
+        for (Customer customer : sorted) {
+            if (slots.putIfAbsent(customer.customerId(), unique.size())) {
+                unique.add(customer);
+            }
+        }
+        this.customers = unique.toArray(Customer[]::new);
+        this.ids = unique.stream().mapToInt(Customer::customerId).toArray();
+        this.slotsById = slots;
+        this.addresses = TrigramIndex.build(unique.stream().map(Customer::address).toArray(String[]::new));
+    }
+
+    public int size() {
+        return customers.length;
+    }
+
+    /**
+     * Customers in ascending id order.
+     */
+    public List<Customer> all() {
+        return Arrays.asList(customers);
+    }
+
+    public Customer byId(int customerId) {
+        int slot = slotsById.get(customerId);
+        return slot == IntIntHashMap.MISSING ? null : customers[slot];
+    }
+
+    /**
+     * Customers with {@code min <= customerId <= max}, in ascending id order.
+     */
+    public List<Customer> byIdRange(int min, int max) {
+        if (min > max) {
+            return List.of();
+        }
+        int from = lowerBound(min);
+        int to = max == Integer.MAX_VALUE ? customers.length : lowerBound(max + 1);
+        return Arrays.asList(customers).subList(from, to);
+    }
+
+    /**
+     * Customers whose address contains {@code fragment} (case-sensitive), in ascending id order.
+     */
+    public List<Customer> addressContains(String fragment) {
+        int[] candidates = addresses.candidates(fragment);
+        List<Customer> matches = new ArrayList<>();
+        if (candidates == null) {
+            for (Customer customer : customers) {
+                if (customer.address() != null && customer.address().contains(fragment)) {
+                    matches.add(customer);
+                }
+            }
+            return matches;
+        }
+        for (int slot : candidates) {
+            // Trigrams can all be present without being contiguous, so confirm the match.
+            if (customers[slot].address().contains(fragment)) {
+                matches.add(customers[slot]);
+            }
+        }
+        return matches;
+    }
+
+    private int lowerBound(int id) {
+        int low = 0;
+        int high = ids.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ids[mid] < id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
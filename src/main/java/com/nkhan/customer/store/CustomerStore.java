@@ -0,0 +1,150 @@
+package com.nkhan.customer.store;
+
+import com.nkhan.customer.model.Customer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * In-memory customer store made of immutable {@link CustomerIndex} segments.
+ * <p>
+ * A bulk load appends one segment per batch, so data becomes queryable while the load is still running,
+ * and {@link #compact()} folds the segments into one when it finishes. Readers take the volatile segment
+ * list once per call and never see a half-built index. Lookups go through segments in load order, so
+ * when an id repeats, the first loaded customer wins, as it does inside a single segment.
+ */
+@Component
+public class CustomerStore {
+
+    private volatile List<CustomerIndex> segments = List.of();
+
+    public synchronized void append(List<Customer> customers) {
+        if (customers.isEmpty()) {
+            return;
+        }
+        List<CustomerIndex> next = new ArrayList<>(segments);
+        next.add(new CustomerIndex(customers));
+        this.segments = List.copyOf(next);
+    }
+
+    /**
+     * Merges all segments into a single index.
+     */
+    public synchronized void compact() {
+        if (segments.size() > 1) {
+            this.segments = List.of(new CustomerIndex(all()));
+        }
+    }
+
+    public int size() {
+        return segments.stream().mapToInt(CustomerIndex::size).sum();
+    }
+
+    /**
+     * Customers in ascending id order.
+     */
+    public List<Customer> all() {
+        List<CustomerIndex> current = segments;
+        return merge(current.stream().map(CustomerIndex::all).toList());
+    }
+
+    public Customer byId(int customerId) {
+        for (CustomerIndex segment : segments) {
+            Customer customer = segment.byId(customerId);
+            if (customer != null) {
+                return customer;
+            }
+        }
+        return null;
+    }
+
+    public List<Customer> byIdRange(int min, int max) {
+        List<CustomerIndex> current = segments;
+        return merge(current.stream().map(s -> s.byIdRange(min, max)).toList());
+    }
+
+    public List<Customer> addressContains(String fragment) {
+        List<CustomerIndex> current = segments;
+        return merge(current.stream().map(s -> s.addressContains(fragment)).toList());
+    }
+
+    /**
+     * Customers with an id greater than {@code afterId}, in ascending id order. The segments are merged
+     * lazily, so a caller that stops after {@code n} customers only pays for {@code n} steps.
+     */
+    public Iterator<Customer> iterateAfter(int afterId) {
+        if (afterId == Integer.MAX_VALUE) {
+            return Collections.emptyIterator();
+        }
+        List<CustomerIndex> current = segments;
+        return new MergingIterator(current.stream().map(s -> s.byIdRange(afterId + 1, Integer.MAX_VALUE)).toList());
+    }
+
+    /**
+     * k-way merge of per-segment results, each ascending by id; on equal ids the earlier segment wins.
+     */
+    private static List<Customer> merge(List<List<Customer>> lists) {
+        if (lists.isEmpty()) {
+            return List.of();
+        }
+        if (lists.size() == 1) {
+            return lists.get(0);
+        }
+        List<Customer> merged = new ArrayList<>(lists.stream().mapToInt(List::size).sum());
+        new MergingIterator(lists).forEachRemaining(merged::add);
+        return merged;
+    }
+
+    private static final class MergingIterator implements Iterator<Customer> {
+
+        private record Cursor(List<Customer> list, int segment, int position) {
+            int id() {
+                return list.get(position).customerId();
+            }
+        }
+
+        private final PriorityQueue<Cursor> queue = new PriorityQueue<>(
+                Comparator.comparingInt(Cursor::id).thenComparingInt(Cursor::segment));
+        private Integer lastId;
+
+        MergingIterator(List<List<Customer>> lists) {
+            for (int i = 0; i < lists.size(); i++) {
+                if (!lists.get(i).isEmpty()) {
+                    queue.add(new Cursor(lists.get(i), i, 0));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!queue.isEmpty() && lastId != null && queue.peek().id() == lastId) {
+                advance(queue.poll());
+            }
+            return !queue.isEmpty();
+        }
+
+        @Override
+        public Customer next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Cursor cursor = queue.poll();
+            Customer customer = cursor.list().get(cursor.position());
+            lastId = customer.customerId();
+            advance(cursor);
+            return customer;
+        }
+
+        private void advance(Cursor cursor) {
+            if (cursor.position() + 1 < cursor.list().size()) {
+                queue.add(new Cursor(cursor.list(), cursor.segment(), cursor.position() + 1));
+            }
+        }
+    }
+}
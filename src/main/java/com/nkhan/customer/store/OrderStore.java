@@ -0,0 +1,25 @@
+package com.nkhan.customer.store;
+
+import com.nkhan.customer.model.CustomerOrder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Orders keyed by customer name, filled by the bulk loader while it streams the customer dataset.
+ */
+@Component
+public class OrderStore {
+
+    private final Map<String, List<CustomerOrder>> ordersByCustomer = new ConcurrentHashMap<>();
+
+    public void putAll(Map<String, List<CustomerOrder>> orders) {
+        ordersByCustomer.putAll(orders);
+    }
+
+    public List<CustomerOrder> findByCustomerName(String name) {
+        return ordersByCustomer.getOrDefault(name, List.of());
+    }
+}
@@ -0,0 +1,107 @@
+package com.nkhan.customer.store;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Character trigram index for substring search. Each trigram maps to the ascending slots whose text
+ * contains it; a query intersects the postings of its trigrams, rarest first, and the caller confirms
+ * the surviving candidates with {@link String#contains}. Queries shorter than a trigram return
+ * {@code null}, meaning "no pruning possible, scan".
+ */
+final class TrigramIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final Map<Long, int[]> postings;
+
+    private TrigramIndex(Map<Long, int[]> postings) {
+        this.postings = postings;
+    }
+
+    /**
+     * @param texts text per slot; {@code null} entries are not indexed
+     */
+    static TrigramIndex build(String[] texts) {
+        Map<Long, IntBuffer> building = new HashMap<>();
+        for (int slot = 0; slot < texts.length; slot++) {
+            String text = texts[slot];
+            if (text == null) {
+                continue;
+            }
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                IntBuffer buffer = building.computeIfAbsent(trigram(text, i), k -> new IntBuffer());
+                // Slots are visited in ascending order, so a repeat of the same trigram is always the tail.
+                if (buffer.size == 0 || buffer.values[buffer.size - 1] != slot) {
+                    buffer.add(slot);
+                }
+            }
+        }
+        Map<Long, int[]> postings = new HashMap<>(building.size() * 4 / 3 + 1);
+        building.forEach((trigram, buffer) -> postings.put(trigram, buffer.toArray()));
+        return new TrigramIndex(postings);
+    }
+
+    /**
+     * Ascending candidate slots that contain every trigram of {@code query}, or {@code null} when the
+     * query is too short to use the index.
+     */
+    int[] candidates(String query) {
+        if (query.length() < 3) {
+            return null;
+        }
+        int count = query.length() - 2;
+        int[][] lists = new int[count][];
+        for (int i = 0; i < count; i++) {
+            int[] list = postings.get(trigram(query, i));
+            if (list == null) {
+                return EMPTY;
+            }
+            lists[i] = list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+        int[] result = lists[0];
+        for (int i = 1; i < lists.length && result.length > 0; i++) {
+            result = intersect(result, lists[i]);
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    private static long trigram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+
+    private static final class IntBuffer {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
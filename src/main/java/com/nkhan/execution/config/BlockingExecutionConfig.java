@@ -0,0 +1,57 @@
+package com.nkhan.execution.config;
+
+import com.nkhan.execution.support.BlockingAdvisingPostProcessor;
+import com.nkhan.execution.support.BlockingExecutorPostProcessor;
+import com.nkhan.execution.support.BlockingMethodInterceptor;
+import com.nkhan.execution.support.DownstreamBusyException;
+import com.nkhan.execution.support.DownstreamLimiter;
+import com.nkhan.execution.support.PinnedThreadMonitor;
+import graphql.GraphqlErrorBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.execution.DataFetcherExceptionResolver;
+import org.springframework.graphql.execution.ErrorType;
+
+/**
+ * Blocking controller methods ({@code @Blocking}, or all non-reactive ones) run on virtual threads, or on
+ * the bounded elastic scheduler for comparison, under a concurrency limit per downstream.
+ */
+@Configuration
+@EnableConfigurationProperties(BlockingExecutionProperties.class)
+@ConditionalOnProperty(prefix = "graphql.execution.blocking", name = "enabled", matchIfMissing = true)
+public class BlockingExecutionConfig {
+
+    @Bean
+    public static BlockingExecutorPostProcessor blockingExecutorPostProcessor(
+            ObjectProvider<BlockingExecutionProperties> properties) {
+        return new BlockingExecutorPostProcessor(properties);
+    }
+
+    @Bean
+    public static BlockingAdvisingPostProcessor blockingAdvisingPostProcessor(
+            ObjectProvider<DownstreamLimiter> limiter) {
+        return new BlockingAdvisingPostProcessor(new BlockingMethodInterceptor(limiter));
+    }
+
+    @Bean
+    public DownstreamLimiter downstreamLimiter(BlockingExecutionProperties properties, MeterRegistry meterRegistry) {
+        return new DownstreamLimiter(properties::limit, properties.acquireTimeout(), meterRegistry);
+    }
+
+    @Bean
+    public PinnedThreadMonitor pinnedThreadMonitor(BlockingExecutionProperties properties,
+                                                   MeterRegistry meterRegistry) {
+        return new PinnedThreadMonitor(properties.pinnedThreshold(), meterRegistry);
+    }
+
+    @Bean
+    public DataFetcherExceptionResolver downstreamBusyExceptionResolver() {
+        return DataFetcherExceptionResolver.forSingleError((ex, env) -> ex instanceof DownstreamBusyException
+                ? GraphqlErrorBuilder.newError(env).errorType(ErrorType.INTERNAL_ERROR).message(ex.getMessage()).build()
+                : null);
+    }
+}
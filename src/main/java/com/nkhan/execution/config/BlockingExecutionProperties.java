@@ -0,0 +1,52 @@
+package com.nkhan.execution.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Offloading of blocking controller methods.
+ *
+ * @param enabled         when off, Spring GraphQL's default executor and selection apply
+ * @param selection       which controller methods are offloaded
+ * @param executor        where offloaded methods run
+ * @param defaultLimit    concurrent calls per downstream without an entry in {@code limits}
+ * @param limits          concurrent calls by {@code @Blocking(downstream)} name
+ * @param acquireTimeout  how long a call waits for a free slot before it fails
+ * @param pinnedThreshold shortest carrier-thread pinning recorded in {@code graphql.blocking.pinned}
+ */
+@ConfigurationProperties(prefix = "graphql.execution.blocking")
+public record BlockingExecutionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("ANNOTATED") Selection selection,
+        @DefaultValue("VIRTUAL_THREADS") ExecutorType executor,
+        @DefaultValue("200") int defaultLimit,
+        Map<String, Integer> limits,
+        @DefaultValue("1s") Duration acquireTimeout,
+        @DefaultValue("20ms") Duration pinnedThreshold
+) {
+
+    public enum Selection {
+        /** Only methods annotated with {@code @Blocking}. */
+        ANNOTATED,
+        /** Every controller method that returns neither a reactive type nor a future, plus annotated ones. */
+        NON_REACTIVE
+    }
+
+    public enum ExecutorType {
+        /** A new virtual thread per call. */
+        VIRTUAL_THREADS,
+        /** Reactor's bounded elastic scheduler, the usual {@code subscribeOn} target. */
+        BOUNDED_ELASTIC
+    }
+
+    public BlockingExecutionProperties {
+        limits = limits == null ? Map.of() : Map.copyOf(limits);
+    }
+
+    public int limit(String downstream) {
+        return limits.getOrDefault(downstream, defaultLimit);
+    }
+}
@@ -0,0 +1,23 @@
+package com.nkhan.execution.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller method that blocks, e.g. on JDBC or a synchronous HTTP client. It is invoked on the
+ * blocking executor (virtual threads by default) instead of the calling thread, and at most the configured
+ * number of calls per {@link #downstream()} run at once.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Blocking {
+
+    /**
+     * The backend this method calls; methods sharing a downstream share its concurrency limit.
+     */
+    String downstream() default "default";
+}
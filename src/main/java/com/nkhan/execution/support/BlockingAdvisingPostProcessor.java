@@ -0,0 +1,20 @@
+package com.nkhan.execution.support;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+
+/**
+ * Proxies beans that declare {@link Blocking} methods so every call goes through
+ * {@link BlockingMethodInterceptor}.
+ */
+public class BlockingAdvisingPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public BlockingAdvisingPostProcessor(MethodInterceptor interceptor) {
+        this.advisor = new DefaultPointcutAdvisor(AnnotationMatchingPointcut.forMethodAnnotation(Blocking.class),
+                interceptor);
+        setProxyTargetClass(true);
+        setBeforeExistingAdvisors(true);
+    }
+}
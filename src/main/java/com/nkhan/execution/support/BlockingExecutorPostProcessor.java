@@ -0,0 +1,73 @@
+package com.nkhan.execution.support;
+
+import com.nkhan.execution.config.BlockingExecutionProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.ReactiveAdapterRegistry;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.graphql.data.method.HandlerMethod;
+import org.springframework.graphql.data.method.annotation.support.AnnotatedControllerConfigurer;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+/**
+ * Points Spring GraphQL's {@link AnnotatedControllerConfigurer} at the blocking executor and decides which
+ * controller methods it offloads, before the configurer scans the controllers.
+ */
+public class BlockingExecutorPostProcessor implements BeanPostProcessor, DisposableBean {
+
+    private final ObjectProvider<BlockingExecutionProperties> properties;
+    private ExecutorService virtualThreads;
+
+    public BlockingExecutorPostProcessor(ObjectProvider<BlockingExecutionProperties> properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof AnnotatedControllerConfigurer configurer) {
+            BlockingExecutionProperties blocking = properties.getObject();
+            configurer.setExecutor(executor(blocking.executor()));
+            configurer.setBlockingMethodPredicate(predicate(blocking.selection()));
+        }
+        return bean;
+    }
+
+    @Override
+    public void destroy() {
+        if (virtualThreads != null) {
+            virtualThreads.close();
+        }
+    }
+
+    private Executor executor(BlockingExecutionProperties.ExecutorType type) {
+        if (type == BlockingExecutionProperties.ExecutorType.BOUNDED_ELASTIC) {
+            return task -> Schedulers.boundedElastic().schedule(task);
+        }
+        virtualThreads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("graphql-blocking-", 0).factory());
+        return virtualThreads;
+    }
+
+    private static Predicate<HandlerMethod> predicate(BlockingExecutionProperties.Selection selection) {
+        Predicate<HandlerMethod> annotated = method ->
+                AnnotatedElementUtils.hasAnnotation(method.getMethod(), Blocking.class);
+        if (selection == BlockingExecutionProperties.Selection.ANNOTATED) {
+            return annotated;
+        }
+        return annotated.or(BlockingExecutorPostProcessor::returnsPlainValue);
+    }
+
+    private static boolean returnsPlainValue(HandlerMethod method) {
+        Class<?> type = method.getReturnType().getParameterType();
+        return ReactiveAdapterRegistry.getSharedInstance().getAdapter(type) == null
+                && !CompletionStage.class.isAssignableFrom(type)
+                && !Future.class.isAssignableFrom(type);
+    }
+}
@@ -0,0 +1,23 @@
+package com.nkhan.execution.support;
+
+import lombok.RequiredArgsConstructor;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+/**
+ * Runs {@link Blocking} methods under their downstream's concurrency limit.
+ */
+@RequiredArgsConstructor
+public class BlockingMethodInterceptor implements MethodInterceptor {
+
+    // Looked up on first call: this interceptor is created with its post-processor, before regular beans
+    private final ObjectProvider<DownstreamLimiter> limiter;
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Blocking blocking = AnnotatedElementUtils.findMergedAnnotation(invocation.getMethod(), Blocking.class);
+        return blocking == null ? invocation.proceed() : limiter.getObject().call(blocking.downstream(), invocation::proceed);
+    }
+}
@@ -0,0 +1,11 @@
+package com.nkhan.execution.support;
+
+/**
+ * A blocking call found no free slot for its downstream within the acquire timeout.
+ */
+public class DownstreamBusyException extends RuntimeException {
+
+    public DownstreamBusyException(String downstream) {
+        super("Too many concurrent calls to " + downstream + ", try again later");
+    }
+}
@@ -0,0 +1,48 @@
+package com.nkhan.execution.support;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Streams the JDK's {@code jdk.VirtualThreadPinned} events, emitted when a virtual thread blocks while
+ * pinned to its carrier (inside {@code synchronized} or a native frame), into the
+ * {@code graphql.blocking.pinned} timer. Pinning makes a blocked virtual thread hold an OS thread,
+ * so a rising count is the first thing to check when virtual-thread throughput drops.
+ */
+@Slf4j
+public class PinnedThreadMonitor implements AutoCloseable {
+
+    private final RecordingStream stream = new RecordingStream();
+
+    public PinnedThreadMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        Timer pinned = Timer.builder("graphql.blocking.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", event -> {
+            pinned.record(event.getDuration());
+            if (log.isDebugEnabled()) {
+                log.debug("Virtual thread pinned for {} at {}", event.getDuration(), topFrame(event.getStackTrace()));
+            }
+        });
+        stream.startAsync();
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        List<RecordedFrame> frames = stackTrace == null ? List.of() : stackTrace.getFrames();
+        return frames.isEmpty() ? "unknown" : frames.get(0).getMethod().getType().getName() + '.'
+                + frames.get(0).getMethod().getName();
+    }
+}
@@ -0,0 +1,51 @@
+package com.nkhan.incremental.config;
+
+import com.nkhan.incremental.support.IncrementalDeliveryInterceptor;
+import com.nkhan.incremental.support.MultipartGraphQlHttpHandler;
+import com.nkhan.scalar.support.GraphQlTransportCodecs;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.graphql.GraphQlProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Incremental delivery of {@code @defer} fragments over HTTP {@code multipart/mixed} and WebSocket.
+ * The multipart route sits ahead of the regular GraphQL HTTP endpoint and only matches requests that
+ * explicitly accept {@code multipart/mixed}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "graphql.incremental", name = "enabled", matchIfMissing = true)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class IncrementalDeliveryConfig {
+
+    /**
+     * Innermost of the interceptors (admission control and the response cache run before it), so the
+     * others see the response before deferred payloads are reshaped into a stream for WebSocket.
+     */
+    @Bean
+    @Order(10)
+    public IncrementalDeliveryInterceptor incrementalDeliveryInterceptor() {
+        return new IncrementalDeliveryInterceptor();
+    }
+
+    @Bean
+    @Order(-1)
+    public RouterFunction<ServerResponse> multipartGraphQlRouterFunction(WebGraphQlHandler webGraphQlHandler,
+                                                                        GraphQlTransportCodecs codecs,
+                                                                        GraphQlProperties properties) {
+        var handler = new MultipartGraphQlHttpHandler(webGraphQlHandler, codecs.codecConfigurer());
+        return RouterFunctions.route(
+                RequestPredicates.method(HttpMethod.POST)
+                        .and(RequestPredicates.path(properties.getPath()))
+                        .and(request -> MultipartGraphQlHttpHandler.accepts(request.headers().accept())),
+                handler::handleRequest);
+    }
+}
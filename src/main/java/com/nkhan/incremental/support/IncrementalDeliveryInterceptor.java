@@ -0,0 +1,74 @@
+package com.nkhan.incremental.support;
+
+import graphql.ExecutionResult;
+import graphql.ExperimentalApi;
+import graphql.GraphQLError;
+import graphql.incremental.DelayedIncrementalPartialResult;
+import graphql.incremental.IncrementalExecutionResult;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.WebSocketGraphQlRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns on {@code @defer} for requests whose transport can deliver more than one payload: HTTP with
+ * {@code Accept: multipart/mixed} (written by {@link MultipartGraphQlHttpHandler}) and WebSocket. Any other
+ * request runs deferred fragments inline and gets a single response, as the spec allows.
+ * <p>
+ * Over WebSocket, an incremental result becomes a stream of {@code next} messages: the initial payload,
+ * then one message per batch of deferred patches.
+ */
+public class IncrementalDeliveryInterceptor implements WebGraphQlInterceptor {
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        boolean webSocket = request instanceof WebSocketGraphQlRequest;
+        if (!webSocket && !MultipartGraphQlHttpHandler.accepts(request.getHeaders().getAccept())) {
+            return chain.next(request);
+        }
+        request.configureExecutionInput((input, builder) ->
+                builder.graphQLContext(Map.of(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT, true)).build());
+        return chain.next(request).map(response -> {
+            if (webSocket && response.getExecutionResult() instanceof IncrementalExecutionResult incremental) {
+                Flux<ExecutionResult> payloads = Flux.concat(Mono.just(incremental),
+                        Flux.from(incremental.getIncrementalItemPublisher()).map(Patch::new));
+                return response.transform(builder -> builder.data(payloads));
+            }
+            return response;
+        });
+    }
+
+    /** A batch of deferred results in the shape the WebSocket handler serializes. */
+    private record Patch(DelayedIncrementalPartialResult result) implements ExecutionResult {
+
+        @Override
+        public List<GraphQLError> getErrors() {
+            return List.of();
+        }
+
+        @Override
+        public <T> T getData() {
+            return null;
+        }
+
+        @Override
+        public boolean isDataPresent() {
+            return false;
+        }
+
+        @Override
+        public Map<Object, Object> getExtensions() {
+            return result.getExtensions();
+        }
+
+        @Override
+        public Map<String, Object> toSpecification() {
+            return result.toSpecification();
+        }
+    }
+}
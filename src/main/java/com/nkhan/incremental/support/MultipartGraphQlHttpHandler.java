@@ -0,0 +1,71 @@
+package com.nkhan.incremental.support;
+
+import graphql.incremental.IncrementalExecutionResult;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.webflux.AbstractGraphQlHttpHandler;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.CodecConfigurer;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GraphQL over HTTP with incremental delivery: the response is {@code multipart/mixed} with boundary
+ * {@code -}, one JSON part for the initial payload and one per batch of deferred patches, each written as
+ * soon as it resolves. A result without deferred parts is a single part.
+ */
+public class MultipartGraphQlHttpHandler extends AbstractGraphQlHttpHandler {
+
+    public static final MediaType MULTIPART_MIXED = MediaType.parseMediaType(
+            "multipart/mixed; boundary=\"-\"; deferSpec=20220824");
+
+    private static final byte[] PART_HEADER = "\r\n---\r\nContent-Type: application/json; charset=utf-8\r\n\r\n"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CLOSE_DELIMITER = "\r\n-----\r\n".getBytes(StandardCharsets.UTF_8);
+
+    public MultipartGraphQlHttpHandler(WebGraphQlHandler graphQlHandler, CodecConfigurer codecConfigurer) {
+        super(graphQlHandler, codecConfigurer);
+    }
+
+    /**
+     * Whether the client asked for {@code multipart/mixed}; wildcards do not count, so plain clients keep
+     * getting a single JSON response.
+     */
+    public static boolean accepts(List<MediaType> accept) {
+        return accept.stream().anyMatch(type -> "multipart".equals(type.getType()) && "mixed".equals(type.getSubtype()));
+    }
+
+    @Override
+    protected Mono<ServerResponse> prepareResponse(ServerRequest request, WebGraphQlResponse response) {
+        Flux<Map<String, Object>> payloads = Flux.just(response.toMap());
+        if (response.getExecutionResult() instanceof IncrementalExecutionResult incremental) {
+            payloads = payloads.concatWith(Flux.from(incremental.getIncrementalItemPublisher())
+                    .map(patch -> patch.toSpecification()));
+        }
+        Flux<DataBuffer> body = payloads
+                .map(this::part)
+                .concatWith(Mono.fromSupplier(() -> DefaultDataBufferFactory.sharedInstance.wrap(CLOSE_DELIMITER)));
+        return ServerResponse.ok()
+                .contentType(MULTIPART_MIXED)
+                .body(BodyInserters.fromDataBuffers(body));
+    }
+
+    private DataBuffer part(Map<String, Object> payload) {
+        DataBuffer json = encode(payload);
+        DataBuffer part = DefaultDataBufferFactory.sharedInstance.allocateBuffer(PART_HEADER.length + json.readableByteCount());
+        part.write(PART_HEADER);
+        part.write(json);
+        DataBufferUtils.release(json);
+        return part;
+    }
+}
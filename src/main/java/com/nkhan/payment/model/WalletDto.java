@@ -1,10 +1,12 @@
 package com.nkhan.payment.model;
 
+import com.nkhan.schema.SchemaType;
 import lombok.Builder;
 
 import java.time.Instant;
 
 @Builder
+@SchemaType("Wallet")
 public record WalletDto( String id,
                       String type,
                       Instant createdAt,
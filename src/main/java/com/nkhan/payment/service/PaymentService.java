@@ -0,0 +1,13 @@
+package com.nkhan.payment.service;
+
+import com.nkhan.payment.model.PaymentMethod;
+
+import java.util.List;
+
+/**
+ * Payment method lookups. Implementations may block (JDBC, synchronous HTTP); callers offload them.
+ */
+public interface PaymentService {
+
+    List<PaymentMethod> findByUserId(String userId);
+}
@@ -0,0 +1,42 @@
+package com.nkhan.payment.service.impl;
+
+import com.nkhan.payment.model.BankAccount;
+import com.nkhan.payment.model.CreditCard;
+import com.nkhan.payment.model.PaymentMethod;
+import com.nkhan.payment.model.WalletDto;
+import com.nkhan.payment.service.PaymentService;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+@Service
+public class PaymentServiceImpl implements PaymentService {
+
+    @Override
+    public List<PaymentMethod> findByUserId(String userId) {
+        // Normally, you’d fetch from DB or external service
+        return List.of(
+                CreditCard.builder()
+                        .id("cc-123")
+                        .type("CREDIT_CARD")
+                        .createdAt(Instant.now())
+                        .last4("4242")
+                        .brand("Visa")
+                        .build(),
+                BankAccount.builder()
+                        .id("ba-456")
+                        .type("BANK_ACCOUNT")
+                        .createdAt(Instant.now())
+                        .bankName("Chase")
+                        .accountNumberMasked("****5678")
+                        .build(),
+                WalletDto.builder()
+                        .id("wa-789")
+                        .type("WALLET")
+                        .createdAt(Instant.now())
+                        .balance(150.75)
+                        .currency("USD")
+                        .build());
+    }
+}
@@ -0,0 +1,93 @@
+package com.nkhan.scalar.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nkhan.scalar.support.FastScalars;
+import com.nkhan.scalar.support.GraphQlTransportCodecs;
+import com.nkhan.scalar.support.ScalarJsonModule;
+import com.nkhan.scalar.support.ScalarPassThroughInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.graphql.GraphQlProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.graphql.execution.RuntimeWiringConfigurer;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.webflux.GraphQlHttpHandler;
+import org.springframework.graphql.server.webflux.GraphQlWebSocketHandler;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+
+/**
+ * Extended scalars used by the schema. In high-throughput mode the {@link ScalarJsonModule} is registered
+ * with a copy of Boot's {@code ObjectMapper} that only the GraphQL HTTP and WebSocket transports use, so
+ * Boot's own mapper keeps its formats for everything else. The mode is off by default: on
+ * {@code AllScalarType} it saves little next to the cost of execution (see {@code SerializationBenchmark}).
+ */
+@Configuration
+@EnableConfigurationProperties(ScalarProperties.class)
+public class ScalarConfig {
+
+    @Bean
+    public RuntimeWiringConfigurer scalarWiring(ScalarProperties properties) {
+        return wiring -> (properties.highThroughput() ? FastScalars.highThroughput() : FastScalars.extended())
+                .forEach(wiring::scalar);
+    }
+
+    @Bean
+    public GraphQlTransportCodecs graphQlTransportCodecs(ScalarProperties properties, ObjectMapper objectMapper,
+                                                         ObjectProvider<ServerCodecConfigurer> serverCodecs) {
+        // Outside a reactive web application only the mapper is used
+        ServerCodecConfigurer serverCodecConfigurer = serverCodecs.getIfAvailable(ServerCodecConfigurer::create);
+        if (!properties.highThroughput()) {
+            return new GraphQlTransportCodecs(objectMapper, serverCodecConfigurer);
+        }
+        ObjectMapper mapper = objectMapper.copy().registerModule(new ScalarJsonModule());
+        CodecCustomizer scalarJson = codecs -> {
+            codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(mapper));
+            codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(mapper));
+        };
+        ServerCodecConfigurer codecConfigurer = serverCodecConfigurer.clone();
+        scalarJson.customize(codecConfigurer);
+        return new GraphQlTransportCodecs(mapper, codecConfigurer);
+    }
+
+    /**
+     * High-throughput mode: Boot's GraphQL HTTP and WebSocket handlers are replaced, as they write with the
+     * shared codecs, and the transports that use the {@link GraphQlTransportCodecs} get values passed
+     * through.
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    @ConditionalOnProperty(prefix = "graphql.scalars", name = "high-throughput")
+    static class HighThroughputTransports {
+
+        @Bean
+        public GraphQlHttpHandler graphQlHttpHandler(WebGraphQlHandler webGraphQlHandler,
+                                                     GraphQlTransportCodecs codecs) {
+            return new GraphQlHttpHandler(webGraphQlHandler, codecs.codecConfigurer());
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "spring.graphql.websocket", name = "path")
+        public GraphQlWebSocketHandler graphQlWebSocketHandler(WebGraphQlHandler webGraphQlHandler,
+                                                               GraphQlProperties properties,
+                                                               GraphQlTransportCodecs codecs) {
+            return new GraphQlWebSocketHandler(webGraphQlHandler, codecs.codecConfigurer(),
+                    properties.getWebsocket().getConnectionInitTimeout(), properties.getWebsocket().getKeepAlive());
+        }
+
+        /**
+         * Only marks the execution input, so its place among the other interceptors does not matter.
+         */
+        @Bean
+        @Order(20)
+        public ScalarPassThroughInterceptor scalarPassThroughInterceptor() {
+            return new ScalarPassThroughInterceptor();
+        }
+    }
+}
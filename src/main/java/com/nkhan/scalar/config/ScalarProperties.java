@@ -0,0 +1,16 @@
+package com.nkhan.scalar.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Serialization of the extended scalars.
+ *
+ * @param highThroughput hand decimals, big integers and temporals to the JSON writer unconverted and write
+ *                       temporals directly into the generator; off registers the extended scalars as they are
+ *                       and keeps Boot's GraphQL HTTP and WebSocket handlers
+ */
+@ConfigurationProperties(prefix = "graphql.scalars")
+public record ScalarProperties(
+        @DefaultValue("false") boolean highThroughput
+) {}
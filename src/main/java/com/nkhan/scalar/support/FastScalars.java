@@ -0,0 +1,65 @@
+package com.nkhan.scalar.support;
+
+import graphql.scalars.ExtendedScalars;
+import graphql.schema.GraphQLScalarType;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * The extended scalars this schema uses, registered either as they are or in the high-throughput form.
+ * <p>
+ * The extended scalars serialize {@code BigDecimal} and {@code BigInteger} by way of
+ * {@code new BigDecimal(value.toString())} and temporals by formatting them to a {@code String}, which
+ * Jackson then copies into the response. In the high-throughput form, and only for executions whose
+ * {@link graphql.GraphQLContext} has {@link #PASS_THROUGH} set, values that already have the scalar's Java
+ * type are handed to Jackson unchanged: numbers are written as they are, and {@link ScalarJsonModule}
+ * writes temporals straight into the generator in the extended scalars' formats. Other values, other
+ * executions and all input coercion are unchanged. {@code Long}, {@code Byte} and {@code Short} are
+ * registered as they are: their coercings already return values of their own type unconverted.
+ */
+public final class FastScalars {
+
+    /**
+     * Context key marking an execution whose result is written with the {@link GraphQlTransportCodecs},
+     * which know the temporal formats.
+     */
+    public static final String PASS_THROUGH = FastScalars.class.getName() + ".passThrough";
+
+    private FastScalars() {
+    }
+
+    public static List<GraphQLScalarType> extended() {
+        return List.of(
+                ExtendedScalars.GraphQLLong,
+                ExtendedScalars.GraphQLByte,
+                ExtendedScalars.GraphQLShort,
+                ExtendedScalars.GraphQLBigDecimal,
+                ExtendedScalars.GraphQLBigInteger,
+                ExtendedScalars.Date,
+                ExtendedScalars.LocalTime,
+                ExtendedScalars.Object,
+                ExtendedScalars.DateTime);
+    }
+
+    public static List<GraphQLScalarType> highThroughput() {
+        return List.of(
+                ExtendedScalars.GraphQLLong,
+                ExtendedScalars.GraphQLByte,
+                ExtendedScalars.GraphQLShort,
+                passThrough(ExtendedScalars.GraphQLBigDecimal, BigDecimal.class),
+                passThrough(ExtendedScalars.GraphQLBigInteger, BigInteger.class),
+                passThrough(ExtendedScalars.Date, LocalDate.class),
+                passThrough(ExtendedScalars.LocalTime, LocalTime.class),
+                ExtendedScalars.Object,
+                passThrough(ExtendedScalars.DateTime, OffsetDateTime.class));
+    }
+
+    private static GraphQLScalarType passThrough(GraphQLScalarType scalar, Class<?> type) {
+        return scalar.transform(builder -> builder.coercing(new PassThroughCoercing(scalar.getCoercing(), type)));
+    }
+}
@@ -0,0 +1,15 @@
+package com.nkhan.scalar.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.codec.ServerCodecConfigurer;
+
+/**
+ * JSON mapper and codecs the GraphQL transports write responses with. In high-throughput mode they are
+ * copies of Boot's with the {@link ScalarJsonModule} registered, so the scalar formats stay out of
+ * everything else Boot's {@code ObjectMapper} writes (MVC/WebFlux bodies, {@code WebClient}, actuator).
+ *
+ * @param objectMapper    for components that serialize GraphQL results themselves
+ * @param codecConfigurer for the GraphQL HTTP and WebSocket handlers
+ */
+public record GraphQlTransportCodecs(ObjectMapper objectMapper, ServerCodecConfigurer codecConfigurer) {
+}
@@ -0,0 +1,49 @@
+package com.nkhan.scalar.support;
+
+import graphql.GraphQLContext;
+import graphql.execution.CoercedVariables;
+import graphql.language.Value;
+import graphql.schema.Coercing;
+import graphql.schema.CoercingParseLiteralException;
+import graphql.schema.CoercingParseValueException;
+import graphql.schema.CoercingSerializeException;
+
+import java.util.Locale;
+
+/**
+ * Serializes values that already have the scalar's Java type as themselves, leaving the conversion to
+ * JSON to the response writer, when the execution has {@link FastScalars#PASS_THROUGH} set; every other
+ * value and all input coercion go to {@code delegate}.
+ */
+class PassThroughCoercing implements Coercing<Object, Object> {
+
+    private final Coercing<?, ?> delegate;
+    private final Class<?> type;
+
+    PassThroughCoercing(Coercing<?, ?> delegate, Class<?> type) {
+        this.delegate = delegate;
+        this.type = type;
+    }
+
+    @Override
+    public Object serialize(Object value, GraphQLContext context, Locale locale) throws CoercingSerializeException {
+        return value.getClass() == type && context.getBoolean(FastScalars.PASS_THROUGH, false)
+                ? value : delegate.serialize(value, context, locale);
+    }
+
+    @Override
+    public Object parseValue(Object input, GraphQLContext context, Locale locale) throws CoercingParseValueException {
+        return delegate.parseValue(input, context, locale);
+    }
+
+    @Override
+    public Object parseLiteral(Value<?> input, CoercedVariables variables, GraphQLContext context, Locale locale)
+            throws CoercingParseLiteralException {
+        return delegate.parseLiteral(input, variables, context, locale);
+    }
+
+    @Override
+    public Value<?> valueToLiteral(Object input, GraphQLContext context, Locale locale) {
+        return delegate.valueToLiteral(input, context, locale);
+    }
+}
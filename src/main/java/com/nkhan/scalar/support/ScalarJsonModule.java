@@ -0,0 +1,139 @@
+package com.nkhan.scalar.support;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import graphql.GraphQLContext;
+import graphql.scalars.ExtendedScalars;
+import graphql.schema.GraphQLScalarType;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.Locale;
+
+/**
+ * Writes the temporals that {@link FastScalars} leave unserialized directly into the JSON generator, in the
+ * extended scalars' formats: {@code DateTime} as {@code yyyy-MM-dd'T'HH:mm:ss.SSSXXX}, {@code Date} as
+ * ISO local date, {@code LocalTime} as ISO local time. Digits go into a per-thread buffer, so no formatter
+ * runs and no intermediate {@code String} is built. Years outside {@code 0001-9999} and offsets with
+ * seconds, which need sign and width rules, take the extended scalar's own path.
+ * <p>
+ * Registered with the GraphQL transports' {@code ObjectMapper} only (see {@link GraphQlTransportCodecs}); there
+ * these formats apply to every {@code OffsetDateTime}, {@code LocalDate} and {@code LocalTime} it writes.
+ */
+public class ScalarJsonModule extends SimpleModule {
+
+    private static final ThreadLocal<char[]> BUFFERS = ThreadLocal.withInitial(() -> new char[32]);
+
+    public ScalarJsonModule() {
+        super("graphql-scalars");
+        addSerializer(OffsetDateTime.class, new TemporalSerializer<>(OffsetDateTime.class, ExtendedScalars.DateTime) {
+            @Override
+            int write(OffsetDateTime value, char[] buffer) {
+                int offsetSeconds = value.getOffset().getTotalSeconds();
+                if (!writableYear(value.getYear()) || offsetSeconds % 60 != 0) {
+                    return -1;
+                }
+                int pos = writeDate(value.getYear(), value.getMonthValue(), value.getDayOfMonth(), buffer, 0);
+                buffer[pos++] = 'T';
+                pos = writeTime(value.getHour(), value.getMinute(), value.getSecond(), buffer, pos);
+                buffer[pos++] = '.';
+                pos = writeDigits(value.getNano() / 1_000_000, 3, buffer, pos);
+                if (offsetSeconds == 0) {
+                    buffer[pos++] = 'Z';
+                    return pos;
+                }
+                buffer[pos++] = offsetSeconds < 0 ? '-' : '+';
+                int offsetMinutes = Math.abs(offsetSeconds) / 60;
+                pos = writeDigits(offsetMinutes / 60, 2, buffer, pos);
+                buffer[pos++] = ':';
+                return writeDigits(offsetMinutes % 60, 2, buffer, pos);
+            }
+        });
+        addSerializer(LocalDate.class, new TemporalSerializer<>(LocalDate.class, ExtendedScalars.Date) {
+            @Override
+            int write(LocalDate value, char[] buffer) {
+                if (!writableYear(value.getYear())) {
+                    return -1;
+                }
+                return writeDate(value.getYear(), value.getMonthValue(), value.getDayOfMonth(), buffer, 0);
+            }
+        });
+        addSerializer(LocalTime.class, new TemporalSerializer<>(LocalTime.class, ExtendedScalars.LocalTime) {
+            @Override
+            int write(LocalTime value, char[] buffer) {
+                int pos = writeTime(value.getHour(), value.getMinute(), value.getSecond(), buffer, 0);
+                int nano = value.getNano();
+                if (nano == 0) {
+                    return pos;
+                }
+                // ISO fraction: as many digits as needed, trailing zeros dropped
+                int digits = 9;
+                while (nano % 10 == 0) {
+                    nano /= 10;
+                    digits--;
+                }
+                buffer[pos++] = '.';
+                return writeDigits(nano, digits, buffer, pos);
+            }
+        });
+    }
+
+    private abstract static class TemporalSerializer<T> extends StdSerializer<T> {
+
+        private final GraphQLScalarType scalar;
+
+        TemporalSerializer(Class<T> type, GraphQLScalarType scalar) {
+            super(type);
+            this.scalar = scalar;
+        }
+
+        /** @return the length written, or -1 when the value needs the extended scalar's formatting */
+        abstract int write(T value, char[] buffer);
+
+        @Override
+        public void serialize(T value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            char[] buffer = BUFFERS.get();
+            int length = write(value, buffer);
+            if (length < 0) {
+                generator.writeString((String) scalar.getCoercing()
+                        .serialize(value, GraphQLContext.getDefault(), Locale.getDefault()));
+            } else {
+                generator.writeString(buffer, 0, length);
+            }
+        }
+    }
+
+    private static boolean writableYear(int year) {
+        // The extended scalars print year-of-era, which only matches the proleptic year from 1 on
+        return year >= 1 && year <= 9999;
+    }
+
+    private static int writeDate(int year, int month, int day, char[] buffer, int pos) {
+        pos = writeDigits(year, 4, buffer, pos);
+        buffer[pos++] = '-';
+        pos = writeDigits(month, 2, buffer, pos);
+        buffer[pos++] = '-';
+        return writeDigits(day, 2, buffer, pos);
+    }
+
+    private static int writeTime(int hour, int minute, int second, char[] buffer, int pos) {
+        pos = writeDigits(hour, 2, buffer, pos);
+        buffer[pos++] = ':';
+        pos = writeDigits(minute, 2, buffer, pos);
+        buffer[pos++] = ':';
+        return writeDigits(second, 2, buffer, pos);
+    }
+
+    /** Writes {@code value} zero-padded to exactly {@code width} digits. */
+    private static int writeDigits(int value, int width, char[] buffer, int pos) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+}
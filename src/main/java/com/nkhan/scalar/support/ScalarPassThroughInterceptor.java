@@ -0,0 +1,29 @@
+package com.nkhan.scalar.support;
+
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.WebSocketGraphQlRequest;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Turns on {@link FastScalars#PASS_THROUGH} for requests whose response is written with the
+ * {@link GraphQlTransportCodecs}: WebSocket, and HTTP unless it asks for {@code text/event-stream}. Boot's
+ * SSE handler writes with the shared codecs, which do not know the scalar formats, so SSE requests keep
+ * the extended scalars' own serialization.
+ */
+public class ScalarPassThroughInterceptor implements WebGraphQlInterceptor {
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        if (request instanceof WebSocketGraphQlRequest
+                || !request.getHeaders().getAccept().contains(MediaType.TEXT_EVENT_STREAM)) {
+            request.configureExecutionInput((input, builder) ->
+                    builder.graphQLContext(Map.of(FastScalars.PASS_THROUGH, true)).build());
+        }
+        return chain.next(request);
+    }
+}
@@ -0,0 +1,19 @@
+package com.nkhan.schema;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names the GraphQL object type a class maps to when it differs from the class's simple name, for
+ * {@link SealedTypeResolver}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SchemaType {
+
+    String value();
+}
@@ -0,0 +1,140 @@
+package com.nkhan.schema;
+
+import graphql.TypeResolutionEnvironment;
+import graphql.language.ObjectTypeDefinition;
+import graphql.language.TypeName;
+import graphql.language.UnionTypeDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.TypeResolver;
+import graphql.schema.idl.TypeDefinitionRegistry;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Type resolver for an interface or union backed by a sealed Java hierarchy.
+ * <p>
+ * The permitted subclasses are walked once, when the resolver is created; each concrete class maps to
+ * the object type named by its {@link SchemaType}, or else to its simple name. At run time a value is
+ * resolved by class identity: a {@link ClassValue} gives the class's slot, and the slot holds the
+ * {@link GraphQLObjectType} of the current schema, so there is no hierarchy walk and no string lookup.
+ * {@link #validate} checks the mapping against the SDL before the schema is built and fails startup when
+ * either side names a type the other does not have.
+ */
+public class SealedTypeResolver implements TypeResolver {
+
+    private record Resolved(GraphQLSchema schema, GraphQLObjectType[] types) {}
+
+    private final String abstractType;
+    private final Class<?> sealedType;
+    private final List<String> typeNames;
+    private final ClassValue<Integer> slots;
+    private volatile Resolved resolved = new Resolved(null, new GraphQLObjectType[0]);
+
+    private SealedTypeResolver(String abstractType, Class<?> sealedType, Map<Class<?>, String> mapping) {
+        this.abstractType = abstractType;
+        this.sealedType = sealedType;
+        this.typeNames = List.copyOf(mapping.values());
+        List<Class<?>> classes = new ArrayList<>(mapping.keySet());
+        this.slots = new ClassValue<>() {
+            @Override
+            protected Integer computeValue(Class<?> type) {
+                int slot = classes.indexOf(type);
+                return slot < 0 ? null : slot;
+            }
+        };
+    }
+
+    /**
+     * @param abstractType the GraphQL interface or union
+     * @param sealedType   the sealed interface or class whose values it resolves
+     */
+    public static SealedTypeResolver of(String abstractType, Class<?> sealedType) {
+        if (!sealedType.isSealed()) {
+            throw new IllegalArgumentException(sealedType.getName() + " is not sealed");
+        }
+        Map<Class<?>, String> mapping = new LinkedHashMap<>();
+        collect(sealedType, mapping);
+        return new SealedTypeResolver(abstractType, sealedType, mapping);
+    }
+
+    private static void collect(Class<?> type, Map<Class<?>, String> mapping) {
+        if (!type.isInterface() && !Modifier.isAbstract(type.getModifiers())) {
+            SchemaType name = type.getAnnotation(SchemaType.class);
+            mapping.put(type, name != null ? name.value() : type.getSimpleName());
+        }
+        if (type.isSealed()) {
+            for (Class<?> permitted : type.getPermittedSubclasses()) {
+                collect(permitted, mapping);
+            }
+        } else if (!Modifier.isFinal(type.getModifiers())) {
+            throw new IllegalArgumentException(type.getName() + " is neither sealed nor final, so "
+                    + "its subclasses cannot be resolved by class identity");
+        }
+    }
+
+    public String abstractType() {
+        return abstractType;
+    }
+
+    @Override
+    public GraphQLObjectType getType(TypeResolutionEnvironment env) {
+        Object value = env.getObject();
+        Integer slot = slots.get(value.getClass());
+        if (slot == null) {
+            throw new IllegalStateException("No GraphQL type for " + value.getClass().getName()
+                    + " in " + abstractType);
+        }
+        Resolved current = resolved;
+        if (current.schema() != env.getSchema()) {
+            current = resolve(env.getSchema());
+        }
+        return current.types()[slot];
+    }
+
+    private Resolved resolve(GraphQLSchema schema) {
+        GraphQLObjectType[] types = new GraphQLObjectType[typeNames.size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = schema.getObjectType(typeNames.get(i));
+        }
+        Resolved next = new Resolved(schema, types);
+        this.resolved = next;
+        return next;
+    }
+
+    /**
+     * Fails unless the classes map one-to-one onto the object types implementing (or members of)
+     * {@code abstractType} in {@code registry}.
+     */
+    public void validate(TypeDefinitionRegistry registry) {
+        Set<String> schemaTypes = new TreeSet<>();
+        registry.getType(abstractType, UnionTypeDefinition.class).ifPresentOrElse(
+                union -> union.getMemberTypes().forEach(member -> schemaTypes.add(((TypeName) member).getName())),
+                () -> registry.getTypes(ObjectTypeDefinition.class).stream()
+                        .filter(type -> type.getImplements().stream()
+                                .anyMatch(i -> i instanceof TypeName name && name.getName().equals(abstractType)))
+                        .forEach(type -> schemaTypes.add(type.getName())));
+        if (schemaTypes.isEmpty()) {
+            throw new IllegalStateException("Schema has no interface or union " + abstractType
+                    + " with object types for " + sealedType.getName());
+        }
+        Set<String> unmapped = new TreeSet<>(schemaTypes);
+        typeNames.forEach(unmapped::remove);
+        Set<String> unknown = new TreeSet<>(typeNames);
+        unknown.removeAll(schemaTypes);
+        if (!unmapped.isEmpty()) {
+            throw new IllegalStateException("No class permitted by %s maps to %s of %s"
+                    .formatted(sealedType.getName(), unmapped, abstractType));
+        }
+        if (!unknown.isEmpty()) {
+            throw new IllegalStateException("Classes permitted by %s map to %s, which are not types of %s"
+                    .formatted(sealedType.getName(), unknown, abstractType));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.nkhan.streaming.config;
+
+import com.nkhan.scalar.support.GraphQlTransportCodecs;
+import com.nkhan.streaming.support.StreamingGraphQlHttpHandler;
+import com.nkhan.streaming.support.StreamingJsonWriter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.graphql.GraphQlProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.webflux.GraphQlRequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * JSON responses streamed into the connection's buffers instead of being encoded up front. The route sits
+ * ahead of the regular GraphQL HTTP endpoint and behind the {@code multipart/mixed} one, which keeps
+ * serving {@code @defer} requests. It takes the same requests as Boot's route, so other content types
+ * still get Boot's {@code 415}.
+ */
+@Configuration
+@EnableConfigurationProperties(StreamingResponseProperties.class)
+@ConditionalOnProperty(prefix = "graphql.streaming", name = "enabled")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class StreamingResponseConfig {
+
+    @Bean
+    public StreamingJsonWriter streamingJsonWriter(GraphQlTransportCodecs codecs, StreamingResponseProperties properties) {
+        return new StreamingJsonWriter(codecs.objectMapper(), (int) properties.chunkSize().toBytes());
+    }
+
+    @Bean
+    @Order(0)
+    public RouterFunction<ServerResponse> streamingGraphQlRouterFunction(WebGraphQlHandler webGraphQlHandler,
+                                                                        GraphQlTransportCodecs codecs,
+                                                                        StreamingJsonWriter writer,
+                                                                        GraphQlProperties properties) {
+        var handler = new StreamingGraphQlHttpHandler(webGraphQlHandler, codecs.codecConfigurer(), writer);
+        return RouterFunctions.route(GraphQlRequestPredicates.graphQlHttp(properties.getPath()), handler::handleRequest);
+    }
+}
@@ -0,0 +1,17 @@
+package com.nkhan.streaming.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Streaming of JSON responses over HTTP.
+ *
+ * @param enabled   off by default; responses are encoded into one buffer unless this is on
+ * @param chunkSize bytes serialized into a buffer before it is handed to the connection
+ */
+@ConfigurationProperties(prefix = "graphql.streaming")
+public record StreamingResponseProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("16KB") DataSize chunkSize
+) {}
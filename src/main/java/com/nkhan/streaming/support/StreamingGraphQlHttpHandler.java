@@ -0,0 +1,63 @@
+package com.nkhan.streaming.support;
+
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.webflux.AbstractGraphQlHttpHandler;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.http.codec.CodecConfigurer;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.NotAcceptableStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * GraphQL over HTTP with the response written by a {@link StreamingJsonWriter}: the body goes out in
+ * chunks as it is serialized, without a {@code Content-Length}, so the connection uses chunked transfer
+ * encoding. Media type negotiation is the regular {@code GraphQlHttpHandler}'s, minus the deprecated
+ * {@code application/graphql}, which falls back to {@code application/json} here.
+ */
+public class StreamingGraphQlHttpHandler extends AbstractGraphQlHttpHandler {
+
+    private static final List<MediaType> SUPPORTED_MEDIA_TYPES =
+            List.of(MediaType.APPLICATION_GRAPHQL_RESPONSE, MediaType.APPLICATION_JSON);
+
+    private final StreamingJsonWriter writer;
+
+    public StreamingGraphQlHttpHandler(WebGraphQlHandler graphQlHandler, CodecConfigurer codecConfigurer,
+                                       StreamingJsonWriter writer) {
+        super(graphQlHandler, codecConfigurer);
+        this.writer = writer;
+    }
+
+    @Override
+    protected Mono<ServerResponse> prepareResponse(ServerRequest request, WebGraphQlResponse response) {
+        BodyInserter<Object, ReactiveHttpOutputMessage> body = (message, context) ->
+                message.writeWith(writer.write(response.toMap(), message.bufferFactory()));
+        return ServerResponse.ok()
+                .headers(headers -> headers.putAll(response.getResponseHeaders()))
+                .contentType(selectResponseMediaType(request))
+                .body(body);
+    }
+
+    private static MediaType selectResponseMediaType(ServerRequest request) {
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = request.headers().accept();
+        }
+        catch (InvalidMediaTypeException ex) {
+            throw new NotAcceptableStatusException("Could not parse " +
+                    "Accept header [" + request.headers().firstHeader("Accept") + "]: " + ex.getMessage());
+        }
+        for (MediaType accepted : acceptedTypes) {
+            if (SUPPORTED_MEDIA_TYPES.contains(accepted)) {
+                return accepted;
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+}
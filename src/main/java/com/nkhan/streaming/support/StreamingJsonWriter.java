@@ -0,0 +1,167 @@
+package com.nkhan.streaming.support;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SynchronousSink;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Serializes a response map (nested maps, collections and scalar values) as JSON into buffers of about
+ * {@code chunkSize} bytes, one buffer per downstream request.
+ * <p>
+ * The map tree is walked with an explicit stack rather than by recursion, so serialization pauses whenever
+ * a buffer is full and resumes on demand: at most one partly written buffer exists per response, and a
+ * slow client holds back serialization instead of letting the whole body pile up in memory. Buffers come
+ * from the given factory, which on Netty hands out pooled {@code ByteBuf}s. Leaf values other than strings,
+ * numbers and booleans go through the {@link ObjectMapper}, so they are written exactly as the regular
+ * encoder writes them.
+ */
+public class StreamingJsonWriter {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter leafWriter;
+    private final int chunkSize;
+
+    public StreamingJsonWriter(ObjectMapper objectMapper, int chunkSize) {
+        this.objectMapper = objectMapper;
+        // Flushing after every leaf would push each value into the buffer on its own
+        this.leafWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.chunkSize = chunkSize;
+    }
+
+    public Flux<DataBuffer> write(Map<String, Object> value, DataBufferFactory bufferFactory) {
+        return Flux.generate(() -> new Cursor(value, bufferFactory), Cursor::next, Cursor::release);
+    }
+
+    private record Frame(Iterator<?> iterator, boolean object) {}
+
+    /** Serialization state of one response; also the generator's output, collecting into the current buffer. */
+    private final class Cursor extends OutputStream {
+
+        private final DataBufferFactory bufferFactory;
+        private final Deque<Frame> frames = new ArrayDeque<>();
+        private final JsonGenerator generator;
+        private Object root;
+        private DataBuffer buffer;
+
+        Cursor(Object root, DataBufferFactory bufferFactory) throws IOException {
+            this.root = root;
+            this.bufferFactory = bufferFactory;
+            this.generator = objectMapper.getFactory().createGenerator(this)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        }
+
+        Cursor next(SynchronousSink<DataBuffer> sink) {
+            try {
+                while (!done() && pending() < chunkSize) {
+                    step();
+                }
+                generator.flush();
+                if (buffer != null) {
+                    sink.next(buffer);
+                    buffer = null;
+                }
+                if (done()) {
+                    sink.complete();
+                }
+            } catch (IOException | RuntimeException e) {
+                sink.error(e);
+            }
+            return this;
+        }
+
+        private boolean done() {
+            return root == null && frames.isEmpty();
+        }
+
+        private int pending() {
+            return (buffer == null ? 0 : buffer.readableByteCount()) + generator.getOutputBuffered();
+        }
+
+        private void step() throws IOException {
+            if (root != null) {
+                Object value = root;
+                root = null;
+                writeValue(value);
+                return;
+            }
+            Frame frame = frames.peek();
+            if (!frame.iterator().hasNext()) {
+                frames.pop();
+                if (frame.object()) {
+                    generator.writeEndObject();
+                } else {
+                    generator.writeEndArray();
+                }
+            } else if (frame.object()) {
+                Map.Entry<?, ?> entry = (Map.Entry<?, ?>) frame.iterator().next();
+                generator.writeFieldName(String.valueOf(entry.getKey()));
+                writeValue(entry.getValue());
+            } else {
+                writeValue(frame.iterator().next());
+            }
+        }
+
+        private void writeValue(Object value) throws IOException {
+            switch (value) {
+                case null -> generator.writeNull();
+                case String string -> generator.writeString(string);
+                case Integer number -> generator.writeNumber(number);
+                case Long number -> generator.writeNumber(number);
+                case Boolean bool -> generator.writeBoolean(bool);
+                case Map<?, ?> map -> {
+                    generator.writeStartObject();
+                    frames.push(new Frame(map.entrySet().iterator(), true));
+                }
+                case Collection<?> collection -> {
+                    generator.writeStartArray();
+                    frames.push(new Frame(collection.iterator(), false));
+                }
+                default -> leafWriter.writeValue(generator, value);
+            }
+        }
+
+        @Override
+        public void write(int b) {
+            target(1).write((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            target(length).write(bytes, offset, length);
+        }
+
+        private DataBuffer target(int length) {
+            if (buffer == null) {
+                buffer = bufferFactory.allocateBuffer(Math.max(chunkSize, length));
+            }
+            return buffer.ensureWritable(length);
+        }
+
+        /** Releases whatever was not handed downstream, on completion, error or cancellation. */
+        void release() {
+            try {
+                generator.close();
+            } catch (IOException ignored) {
+                // Nothing is written to a closed response
+            }
+            if (buffer != null) {
+                DataBufferUtils.release(buffer);
+                buffer = null;
+            }
+        }
+    }
+}
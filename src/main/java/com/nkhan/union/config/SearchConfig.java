@@ -0,0 +1,87 @@
+package com.nkhan.union.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nkhan.union.model.ArticleDto;
+import com.nkhan.union.model.ProductDto;
+import com.nkhan.union.model.SearchResult;
+import com.nkhan.union.model.UserDto;
+import com.nkhan.union.search.SearchIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the {@link SearchIndex} over users, products and articles and fills it from
+ * {@code search.location}. Documents are matched on every text field they expose to GraphQL.
+ * <p>
+ * Ids are only unique within a type, so documents are keyed by {@code <GraphQL type>:<id>}, e.g.
+ * {@code User:u1}; that is also the form {@code search(after:)} takes.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(SearchProperties.class)
+public class SearchConfig {
+
+    record SearchDocuments(List<UserDto> users, List<ProductDto> products, List<ArticleDto> articles) {}
+
+    @Bean
+    public SearchIndex<SearchResult> searchIndex(SearchProperties properties, ObjectMapper objectMapper) {
+        SearchIndex<SearchResult> index = new SearchIndex<>(SearchConfig::id, SearchConfig::text,
+                properties.minPrefixLength(), properties.maxPrefixExpansions());
+        index.upsertAll(load(properties.location(), objectMapper));
+        log.info("Indexed {} search documents from {}", index.size(), properties.location());
+        return index;
+    }
+
+    static String id(SearchResult result) {
+        if (result instanceof UserDto user) {
+            return "User:" + user.id();
+        }
+        if (result instanceof ProductDto product) {
+            return "Products:" + product.id();
+        }
+        return "Article:" + ((ArticleDto) result).id();
+    }
+
+    static String text(SearchResult result) {
+        if (result instanceof UserDto user) {
+            return user.username() + ' ' + user.email();
+        }
+        if (result instanceof ProductDto product) {
+            return product.name();
+        }
+        ArticleDto article = (ArticleDto) result;
+        return article.title() + ' ' + article.content();
+    }
+
+    private static List<SearchResult> load(Resource location, ObjectMapper objectMapper) {
+        if (!location.exists()) {
+            log.warn("No search documents found at {}", location);
+            return List.of();
+        }
+        try (InputStream in = location.getInputStream()) {
+            SearchDocuments documents = objectMapper.readValue(in, SearchDocuments.class);
+            List<SearchResult> results = new ArrayList<>();
+            if (documents.users() != null) {
+                results.addAll(documents.users());
+            }
+            if (documents.products() != null) {
+                results.addAll(documents.products());
+            }
+            if (documents.articles() != null) {
+                results.addAll(documents.articles());
+            }
+            return results;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read search documents from " + location, e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.nkhan.union.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.core.io.Resource;
+
+/**
+ * Full-text search behind {@code Query.search}.
+ *
+ * @param location            JSON object with {@code users}, {@code products} and {@code articles} arrays
+ *                            indexed at startup; a missing resource yields an empty index
+ * @param defaultPageSize     results returned when {@code first} is not given
+ * @param maxPageSize         upper bound on {@code first}
+ * @param minPrefixLength     shortest last keyword token that also matches as a prefix
+ * @param maxPrefixExpansions dictionary terms the last keyword token may match as a prefix
+ */
+@ConfigurationProperties(prefix = "search")
+public record SearchProperties(
+        @DefaultValue("classpath:json/search-documents.json") Resource location,
+        @DefaultValue("20") int defaultPageSize,
+        @DefaultValue("100") int maxPageSize,
+        @DefaultValue("3") int minPrefixLength,
+        @DefaultValue("50") int maxPrefixExpansions
+) {}
@@ -1,8 +1,10 @@
 package com.nkhan.union.model;
 
+import com.nkhan.schema.SchemaType;
 import lombok.Builder;
 
 @Builder
+@SchemaType("Article")
 public record  ArticleDto(  String id,
                             String title,
                             String content) implements SearchResult{
@@ -1,8 +1,10 @@
 package com.nkhan.union.model;
 
+import com.nkhan.schema.SchemaType;
 import lombok.Builder;
 
 @Builder
+@SchemaType("Products")
 public record ProductDto(  String id,
                            String name,
                            Double price) implements SearchResult{
@@ -1,8 +1,10 @@
 package com.nkhan.union.model;
 
+import com.nkhan.schema.SchemaType;
 import lombok.Builder;
 
 @Builder
+@SchemaType("User")
 public record UserDto( String id,
                        String username,
                        String email) implements SearchResult {
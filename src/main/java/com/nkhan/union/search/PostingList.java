@@ -0,0 +1,79 @@
+package com.nkhan.union.search;
+
+import java.util.Arrays;
+
+/**
+ * Append-only postings of one term: for each document, the gap to the previous document id and the term
+ * frequency, both as unsigned varints. Document ids only grow, so gaps stay small and most entries take
+ * two bytes.
+ */
+final class PostingList {
+
+    @FunctionalInterface
+    interface Visitor {
+        void visit(int doc, int termFrequency);
+    }
+
+    private byte[] bytes = new byte[8];
+    private int length;
+    private int lastDoc = -1;
+    private int size;
+
+    void add(int doc, int termFrequency) {
+        if (doc <= lastDoc) {
+            throw new IllegalArgumentException("Documents must be added in increasing order: " + doc);
+        }
+        ensureCapacity(10);
+        writeVarint(doc - lastDoc);
+        writeVarint(termFrequency);
+        lastDoc = doc;
+        size++;
+    }
+
+    void forEach(Visitor visitor) {
+        int position = 0;
+        int doc = -1;
+        while (position < length) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            int termFrequency = 0;
+            shift = 0;
+            do {
+                b = bytes[position++];
+                termFrequency |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            doc += gap;
+            visitor.visit(doc, termFrequency);
+        }
+    }
+
+    /** Documents in the list, deleted ones included until the index is compacted. */
+    int size() {
+        return size;
+    }
+
+    int sizeInBytes() {
+        return length;
+    }
+
+    private void writeVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.nkhan.union.search;
+
+import java.util.Arrays;
+
+/**
+ * Per-query score sums by internal document id. Queries touching a small part of the index use an
+ * open-addressing table sized for the postings they read; broad ones use a dense array over all ids.
+ */
+final class ScoreAccumulator {
+
+    @FunctionalInterface
+    interface Visitor {
+        void visit(int doc, float score);
+    }
+
+    private static final int EMPTY = -1;
+
+    private final float[] dense;
+    private final int[] keys;
+    private final float[] values;
+    private final int mask;
+
+    ScoreAccumulator(int maxDoc, long expectedDocs) {
+        if (expectedDocs * 4 >= maxDoc) {
+            dense = new float[maxDoc];
+            keys = null;
+            values = null;
+            mask = 0;
+        } else {
+            int capacity = Integer.highestOneBit((int) Math.max(8, expectedDocs * 2) - 1) << 1;
+            dense = null;
+            keys = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+            values = new float[capacity];
+            mask = capacity - 1;
+        }
+    }
+
+    void add(int doc, float score) {
+        if (dense != null) {
+            dense[doc] += score;
+            return;
+        }
+        int slot = slot(doc);
+        keys[slot] = doc;
+        values[slot] += score;
+    }
+
+    boolean contains(int doc) {
+        return dense != null ? dense[doc] > 0 : keys[slot(doc)] == doc;
+    }
+
+    float get(int doc) {
+        return dense != null ? dense[doc] : values[slot(doc)];
+    }
+
+    void forEach(Visitor visitor) {
+        if (dense != null) {
+            for (int doc = 0; doc < dense.length; doc++) {
+                if (dense[doc] > 0) {
+                    visitor.visit(doc, dense[doc]);
+                }
+            }
+            return;
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                visitor.visit(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /** Slot holding {@code doc}, or the empty slot where it would go. */
+    private int slot(int doc) {
+        int h = doc * 0x9E3779B9;
+        int slot = (h ^ (h >>> 16)) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != doc) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,278 @@
+package com.nkhan.union.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * In-process full-text index with BM25 ranking.
+ * <p>
+ * Each document gets an internal id in insertion order and its {@link Tokenizer tokens} go to per-term
+ * {@link PostingList}s. Terms live in a sorted dictionary, so the last query token also matches as a prefix
+ * (search as you type) when it has at least {@code minPrefixLength} characters, up to
+ * {@code maxPrefixExpansions} terms; shorter ones would expand to a large share of the dictionary.
+ * An update deletes the old version and adds the new one under a fresh internal id; deleted ids are masked
+ * until more than half of all ids are dead, when the index is rebuilt from the live documents.
+ * <p>
+ * Results are ordered by score, then by insertion. Paging is keyset-based: {@code after} is the id of the
+ * last document of the previous page, so pages stay consistent while scores are unchanged.
+ * Reads share a read lock; writes take the write lock.
+ *
+ * @param <T> indexed document type
+ */
+public class SearchIndex<T> {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final class Term {
+        final PostingList postings = new PostingList();
+        int liveDocuments;
+    }
+
+    private final Function<T, String> idOf;
+    private final Function<T, String> textOf;
+    private final int minPrefixLength;
+    private final int maxPrefixExpansions;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private TreeMap<String, Term> terms = new TreeMap<>();
+    private Map<String, Integer> docById = new HashMap<>();
+    private List<T> docs = new ArrayList<>();
+    private int[] lengths = new int[16];
+    private BitSet deleted = new BitSet();
+    private int deletedCount;
+    private long totalLength;
+
+    /**
+     * @param idOf                unique id of a document, also the paging cursor
+     * @param textOf              searchable text of a document
+     * @param minPrefixLength     shortest last query token that is also matched as a prefix
+     * @param maxPrefixExpansions dictionary terms the last query token may expand to as a prefix
+     */
+    public SearchIndex(Function<T, String> idOf, Function<T, String> textOf, int minPrefixLength,
+                       int maxPrefixExpansions) {
+        this.idOf = idOf;
+        this.textOf = textOf;
+        this.minPrefixLength = minPrefixLength;
+        this.maxPrefixExpansions = maxPrefixExpansions;
+    }
+
+    /**
+     * Adds {@code document}, replacing any document with the same id.
+     */
+    public void upsert(T document) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(idOf.apply(document));
+            addLocked(document);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsertAll(Iterable<? extends T> documents) {
+        lock.writeLock().lock();
+        try {
+            for (T document : documents) {
+                removeLocked(idOf.apply(document));
+                addLocked(document);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return whether a document with this id was indexed
+     */
+    public boolean delete(String id) {
+        lock.writeLock().lock();
+        try {
+            boolean removed = removeLocked(id);
+            compactIfNeeded();
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size() - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best {@code first} documents for {@code query} ranked after the document {@code after} (or from the
+     * top when {@code after} is {@code null}). An {@code after} that no longer matches yields no results.
+     */
+    public List<T> search(String query, int first, String after) {
+        List<String> tokens = Tokenizer.tokenize(query);
+        if (tokens.isEmpty() || first <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int liveDocs = docs.size() - deletedCount;
+            if (liveDocs == 0) {
+                return List.of();
+            }
+            float averageLength = (float) totalLength / liveDocs;
+            Map<String, Term> matched = matchTerms(tokens);
+            ScoreAccumulator scores = new ScoreAccumulator(docs.size(),
+                    matched.values().stream().mapToLong(t -> t.postings.size()).sum());
+            for (Term term : matched.values()) {
+                float idf = (float) Math.log(1 + (liveDocs - term.liveDocuments + 0.5) / (term.liveDocuments + 0.5));
+                term.postings.forEach((doc, tf) -> {
+                    if (!deleted.get(doc)) {
+                        float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                        scores.add(doc, idf * tf * (K1 + 1) / (tf + norm));
+                    }
+                });
+            }
+            return topAfter(scores, first, after);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<String, Term> matchTerms(List<String> tokens) {
+        Map<String, Term> matched = new LinkedHashMap<>();
+        for (String token : tokens) {
+            Term term = terms.get(token);
+            if (term != null && term.liveDocuments > 0) {
+                matched.put(token, term);
+            }
+        }
+        String prefix = tokens.get(tokens.size() - 1);
+        if (prefix.length() < minPrefixLength) {
+            return matched;
+        }
+        int expansions = 0;
+        for (Map.Entry<String, Term> entry : terms.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix) || expansions == maxPrefixExpansions) {
+                break;
+            }
+            if (entry.getValue().liveDocuments > 0) {
+                matched.putIfAbsent(entry.getKey(), entry.getValue());
+                expansions++;
+            }
+        }
+        return matched;
+    }
+
+    private List<T> topAfter(ScoreAccumulator scores, int first, String after) {
+        float afterScore = Float.POSITIVE_INFINITY;
+        int afterDoc = -1;
+        if (after != null) {
+            Integer doc = docById.get(after);
+            if (doc == null || !scores.contains(doc)) {
+                return List.of();
+            }
+            afterDoc = doc;
+            afterScore = scores.get(doc);
+        }
+        float boundScore = afterScore;
+        int boundDoc = afterDoc;
+        // Min-heap of the best candidates so far; its head is the weakest
+        PriorityQueue<long[]> top = new PriorityQueue<>(first + 1, (a, b) -> compareRank(b, a));
+        scores.forEach((doc, score) -> {
+            if (score < boundScore || (score == boundScore && doc > boundDoc)) {
+                long[] candidate = {doc, Float.floatToIntBits(score)};
+                if (top.size() < first) {
+                    top.add(candidate);
+                } else if (compareRank(candidate, top.peek()) < 0) {
+                    top.poll();
+                    top.add(candidate);
+                }
+            }
+        });
+        List<long[]> ranked = new ArrayList<>(top);
+        ranked.sort(SearchIndex::compareRank);
+        List<T> results = new ArrayList<>(ranked.size());
+        for (long[] hit : ranked) {
+            results.add(docs.get((int) hit[0]));
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    /** Negative when {@code a} ranks before {@code b}: higher score first, then lower internal id. */
+    private static int compareRank(long[] a, long[] b) {
+        int byScore = Float.compare(Float.intBitsToFloat((int) b[1]), Float.intBitsToFloat((int) a[1]));
+        return byScore != 0 ? byScore : Long.compare(a[0], b[0]);
+    }
+
+    private void addLocked(T document) {
+        int doc = docs.size();
+        docs.add(document);
+        docById.put(idOf.apply(document), doc);
+        List<String> tokens = Tokenizer.tokenize(textOf.apply(document));
+        if (doc == lengths.length) {
+            lengths = Arrays.copyOf(lengths, lengths.length * 2);
+        }
+        lengths[doc] = tokens.size();
+        totalLength += tokens.size();
+        for (Map.Entry<String, Integer> frequency : frequencies(tokens).entrySet()) {
+            Term term = terms.computeIfAbsent(frequency.getKey(), k -> new Term());
+            term.postings.add(doc, frequency.getValue());
+            term.liveDocuments++;
+        }
+    }
+
+    private boolean removeLocked(String id) {
+        Integer doc = docById.remove(id);
+        if (doc == null) {
+            return false;
+        }
+        deleted.set(doc);
+        deletedCount++;
+        totalLength -= lengths[doc];
+        for (String token : frequencies(Tokenizer.tokenize(textOf.apply(docs.get(doc)))).keySet()) {
+            terms.get(token).liveDocuments--;
+        }
+        return true;
+    }
+
+    private void compactIfNeeded() {
+        if (deletedCount <= docs.size() / 2) {
+            return;
+        }
+        List<T> live = new ArrayList<>(docs.size() - deletedCount);
+        for (int doc = 0; doc < docs.size(); doc++) {
+            if (!deleted.get(doc)) {
+                live.add(docs.get(doc));
+            }
+        }
+        terms = new TreeMap<>();
+        docById = new HashMap<>();
+        docs = new ArrayList<>(live.size());
+        lengths = new int[Math.max(16, live.size())];
+        deleted = new BitSet();
+        deletedCount = 0;
+        totalLength = 0;
+        live.forEach(this::addLocked);
+    }
+
+    private static Map<String, Integer> frequencies(List<String> tokens) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+}
@@ -0,0 +1,15 @@
+package com.nkhan.union.service;
+
+import com.nkhan.union.model.SearchResult;
+import reactor.core.publisher.Flux;
+
+public interface SearchService {
+
+    /**
+     * Results for {@code keyword} by relevance.
+     *
+     * @param first page size; the configured default when {@code null}, capped at the configured maximum
+     * @param after id of the last result of the previous page, {@code null} for the first page
+     */
+    Flux<SearchResult> search(String keyword, Integer first, String after);
+}
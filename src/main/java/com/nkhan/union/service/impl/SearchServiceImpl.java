@@ -0,0 +1,22 @@
+package com.nkhan.union.service.impl;
+
+import com.nkhan.union.config.SearchProperties;
+import com.nkhan.union.model.SearchResult;
+import com.nkhan.union.search.SearchIndex;
+import com.nkhan.union.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+@Service
+@RequiredArgsConstructor
+public class SearchServiceImpl implements SearchService {
+    private final SearchIndex<SearchResult> searchIndex;
+    private final SearchProperties properties;
+
+    @Override
+    public Flux<SearchResult> search(String keyword, Integer first, String after) {
+        int pageSize = Math.min(first == null ? properties.defaultPageSize() : first, properties.maxPageSize());
+        return Flux.defer(() -> Flux.fromIterable(searchIndex.search(keyword, pageSize, after)));
+    }
+}
@@ -0,0 +1,62 @@
+package com.nkhan.accounts;
+
+import com.nkhan.accounts.service.AccountService;
+import com.nkhan.customer.loader.CustomerBulkLoader;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class AccountBatchMappingTests {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private CustomerBulkLoader loader;
+
+    @MockitoSpyBean
+    private AccountService accountService;
+
+    @Test
+    void allCustomersCostOneAccountLookupAndKeepTheirAccount() {
+        loader.completion().join();
+
+        List<String> first = accountIds();
+        List<String> second = accountIds();
+
+        assertThat(first).hasSize(3).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(second).isEqualTo(first);
+        verify(accountService, times(2)).findByCustomerIds(anyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> accountIds() {
+        Map<String, Object> body = client.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("query", "{ customers { customerId account { id amount accountType } } }"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Map.class)
+                .returnResult()
+                .getResponseBody();
+        List<Map<String, Object>> customers = (List<Map<String, Object>>) ((Map<String, Object>) body.get("data"))
+                .get("customers");
+        return customers.stream()
+                .map(c -> (String) ((Map<String, Object>) c.get("account")).get("id"))
+                .toList();
+    }
+}
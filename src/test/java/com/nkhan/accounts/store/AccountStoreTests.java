@@ -0,0 +1,62 @@
+package com.nkhan.accounts.store;
+
+import com.nkhan.accounts.model.AccountType;
+import com.nkhan.accounts.model.Accounts;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountStoreTests {
+
+    private final AccountIdGenerator ids = new AccountIdGenerator();
+    private final AtomicInteger opened = new AtomicInteger();
+
+    private Accounts open(int customerId) {
+        opened.incrementAndGet();
+        return new Accounts(ids.next(), customerId, AccountType.SAVING);
+    }
+
+    @Test
+    void accountsAreCreatedOnceAndSurviveGrowth() {
+        AccountStore store = new AccountStore();
+        int[] customerIds = IntStream.range(-500, 500).map(i -> i * 7919).toArray();
+
+        Accounts[] first = store.computeIfAbsent(customerIds, this::open);
+        Accounts[] second = store.computeIfAbsent(customerIds, this::open);
+
+        assertThat(store.size()).isEqualTo(1000);
+        assertThat(opened).hasValue(1000);
+        assertThat(second).containsExactly(first);
+        for (int i = 0; i < customerIds.length; i++) {
+            assertThat(first[i].amount()).isEqualTo(customerIds[i]);
+        }
+    }
+
+    @Test
+    void repeatedIdsInOneBatchShareAnAccount() {
+        AccountStore store = new AccountStore();
+
+        Accounts[] accounts = store.computeIfAbsent(new int[]{5, 5, 6}, this::open);
+
+        assertThat(accounts[0]).isSameAs(accounts[1]);
+        assertThat(opened).hasValue(2);
+    }
+
+    @Test
+    void generatedIdsAreVersion4AndDistinct() {
+        Set<UUID> seen = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = ids.next();
+            assertThat(id.version()).isEqualTo(4);
+            assertThat(id.variant()).isEqualTo(2);
+            seen.add(id);
+        }
+        assertThat(seen).hasSize(10_000);
+    }
+}
@@ -0,0 +1,65 @@
+package com.nkhan.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "graphql.admission.rate.permits-per-second=0.1",
+        "graphql.admission.rate.burst=2",
+        "graphql.admission.rate.clients[partner]=1000"
+})
+@AutoConfigureWebTestClient
+class AdmissionControlTests {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void clientOverItsRateIsRejectedBeforeExecution() {
+        post("tenant-a").expectBody().jsonPath("$.data.sayHello").exists();
+        post("tenant-a").expectBody().jsonPath("$.data.sayHello").exists();
+
+        post("tenant-a")
+                .expectHeader().valueEquals("Retry-After", "10")
+                .expectBody()
+                .jsonPath("$.data").doesNotExist()
+                .jsonPath("$.errors[0].extensions.classification").isEqualTo("TOO_MANY_REQUESTS")
+                .jsonPath("$.errors[0].extensions.retryAfter").isEqualTo(10);
+
+        assertThat(meterRegistry.get("graphql.admission.rejected").tag("reason", "rate").counter().count())
+                .isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void clientsHaveTheirOwnBuckets() {
+        post("tenant-b");
+        post("tenant-b");
+        post("tenant-b").expectBody().jsonPath("$.errors[0].extensions.classification").isEqualTo("TOO_MANY_REQUESTS");
+
+        post("tenant-c").expectBody().jsonPath("$.errors").doesNotExist();
+        for (int i = 0; i < 5; i++) {
+            post("partner").expectBody().jsonPath("$.errors").doesNotExist();
+        }
+    }
+
+    private WebTestClient.ResponseSpec post(String clientKey) {
+        return client.post().uri("/graphql")
+                .header("X-Api-Key", clientKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("query", "{ sayHello }"))
+                .exchange()
+                .expectStatus().isOk();
+    }
+}
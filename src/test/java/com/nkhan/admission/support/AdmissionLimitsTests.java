@@ -0,0 +1,73 @@
+package com.nkhan.admission.support;
+
+import com.nkhan.admission.config.AdmissionProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionLimitsTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void bucketAllowsBurstThenSustainedRate() {
+        var bucket = new TokenBucket(10, 3, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).as("wait for the next token").isEqualTo(SECOND / 10);
+        assertThat(bucket.tryAcquire(SECOND / 10)).isZero();
+        assertThat(bucket.tryAcquire(SECOND / 10)).isPositive();
+        assertThat(bucket.tryAcquire(10 * SECOND)).as("refilled while idle").isZero();
+    }
+
+    @Test
+    void limitRejectsBeyondItself() {
+        var limit = new AdaptiveConcurrencyLimit(concurrency(2, 1, 10));
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+        limit.release();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void fastOperationsUnderLoadGrowTheLimit() {
+        var limit = new AdaptiveConcurrencyLimit(concurrency(10, 5, 12));
+
+        for (int i = 0; i < 1_000; i++) {
+            for (int j = 0; j < limit.limit(); j++) {
+                limit.tryAcquire();
+            }
+            while (limit.inFlight() > 0) {
+                limit.release(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+
+        assertThat(limit.limit()).as("capped at max-limit").isEqualTo(12);
+    }
+
+    @Test
+    void slowOperationsShrinkTheLimitOncePerThreshold() {
+        var limit = new AdaptiveConcurrencyLimit(concurrency(100, 50, 1000));
+
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire();
+        }
+        for (int i = 0; i < 10; i++) {
+            limit.release(TimeUnit.SECONDS.toNanos(5));
+        }
+
+        assertThat(limit.limit()).isEqualTo(90);
+    }
+
+    private static AdmissionProperties.Concurrency concurrency(int initial, int min, int max) {
+        return new AdmissionProperties.Concurrency(initial, min, max, Duration.ofMillis(500), 0.9);
+    }
+}
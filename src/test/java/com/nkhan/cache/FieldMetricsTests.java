@@ -0,0 +1,49 @@
+package com.nkhan.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class FieldMetricsTests {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void resolversAreTimedByParentTypeAndField() {
+        client.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("query", "{ customers { name orders { orderId } } }"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.errors").doesNotExist();
+
+        assertThat(timerCount("Query", "customers")).isPositive();
+        assertThat(timerCount("Customer", "orders")).isPositive();
+        // Plain property reads are not timed by default
+        assertThat(meterRegistry.find("graphql.field.fetch").tag("field", "name").timer()).isNull();
+        assertThat(meterRegistry.get("graphql.dataloader.batch.size").tag("loader", "customerOrders")
+                .summary().count()).isPositive();
+    }
+
+    private long timerCount(String parentType, String field) {
+        return meterRegistry.get("graphql.field.fetch")
+                .tag("parentType", parentType)
+                .tag("field", field)
+                .tag("outcome", "success")
+                .timer().count();
+    }
+}
@@ -0,0 +1,59 @@
+package com.nkhan.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class PersistedQueryTests {
+
+    private static final String MANIFEST_HASH = "13b3ff9a709c01377fba92b6e2304ecbedaa648fe474de0a7e8cd173bc384545";
+
+    @Autowired
+    private WebTestClient client;
+
+    @Test
+    void unknownHashIsRegisteredThenServedByHash() throws Exception {
+        String query = "{ sayHelloTo(userName: \"apq\") }";
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(query.getBytes(StandardCharsets.UTF_8)));
+
+        post(null, hash).jsonPath("$.errors[0].message").isEqualTo("PersistedQueryNotFound");
+        post(query, hash).jsonPath("$.data.sayHelloTo").exists();
+        post(null, hash).jsonPath("$.data.sayHelloTo").exists();
+    }
+
+    @Test
+    void mismatchedHashIsRejected() {
+        post("{ sayHello }", "0".repeat(64)).jsonPath("$.errors[0].message").isEqualTo("PersistedQueryIdInvalid");
+    }
+
+    @Test
+    void manifestQueryIsServedWithoutRegistration() {
+        post(null, MANIFEST_HASH).jsonPath("$.data.customers").isArray();
+    }
+
+    private WebTestClient.BodyContentSpec post(String query, String hash) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        if (query != null) {
+            body.put("query", query);
+        }
+        body.put("extensions", Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash)));
+        return client.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody();
+    }
+}
@@ -0,0 +1,68 @@
+package com.nkhan.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "graphql.cost.max-depth=2",
+        "graphql.cost.max-cost=1000",
+        "graphql.cost.weights[Query.customerByAddressContain]=200"
+})
+@AutoConfigureWebTestClient
+class QueryCostTests {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void acceptedQueryRecordsItsCost() {
+        // @cost(assumedSize: 100) on Query.customers, one per object field, scalars free
+        post("{ customers { name city } }").jsonPath("$.data.customers").isArray();
+
+        assertThat(meterRegistry.get("graphql.query.cost").tag("operation", "query").summary().max())
+                .isEqualTo(100);
+    }
+
+    @Test
+    void tooDeepQueryIsRejectedBeforeExecution() {
+        post("{ customers { name orders { orderId } } }")
+                .jsonPath("$.data").doesNotExist()
+                .jsonPath("$.errors[0].message").isEqualTo("Query depth 3 exceeds the maximum of 2");
+    }
+
+    @Test
+    void tooExpensiveQueryIsRejectedBeforeExecution() {
+        // weight 200 from properties times the default list size of 10
+        post("{ customerByAddressContain(address: \"a\") { name } }")
+                .jsonPath("$.data").doesNotExist()
+                .jsonPath("$.errors[0].message").isEqualTo("Query cost 2000 exceeds the maximum of 1000");
+    }
+
+    @Test
+    void introspectionIsNotBudgeted() {
+        post("{ __schema { types { name fields { name type { name ofType { name } } } } } }")
+                .jsonPath("$.errors").doesNotExist()
+                .jsonPath("$.data.__schema.types").isArray();
+    }
+
+    private WebTestClient.BodyContentSpec post(String query) {
+        return client.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("query", query))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody();
+    }
+}
@@ -0,0 +1,174 @@
+package com.nkhan.cache;
+
+import com.nkhan.cache.response.CachePolicy;
+import com.nkhan.cache.response.ResponseCache;
+import com.nkhan.clients.CustomerGraphQLClient;
+import com.nkhan.clients.dto.CustomerDto;
+import com.nkhan.payment.service.PaymentService;
+import graphql.language.OperationDefinition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.graphql.client.WebSocketGraphQlClient;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.InstanceOfAssertFactories.MAP;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "graphql.cache.response.enabled=true")
+class ResponseCacheTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private ResponseCache cache;
+
+    @MockitoSpyBean
+    private PaymentService paymentService;
+
+    @MockitoBean
+    private CustomerGraphQLClient customerClient;
+
+    @BeforeEach
+    void reset() {
+        cache.invalidateAll();
+        clearInvocations(paymentService);
+    }
+
+    @Test
+    void repeatedQueryIsServedWithoutExecuting() {
+        String query = "{ paymentMethods(userId: \"u1\") { id type } }";
+        post(query, Map.of())
+                .expectHeader().cacheControl(CacheControl.maxAge(Duration.ofSeconds(30)))
+                .expectBody().jsonPath("$.data.paymentMethods").isArray();
+        // Same document, different layout
+        post("query {\n  paymentMethods(userId: \"u1\") {\n    id, type\n  }\n}", Map.of())
+                .expectBody().jsonPath("$.data.paymentMethods[0].id").exists();
+
+        verify(paymentService, times(1)).findByUserId("u1");
+    }
+
+    @Test
+    void variablesArePartOfTheKeyInAnyOrder() {
+        String query = "query ($user: ID!, $all: Boolean!) { paymentMethods(userId: $user) { id type @include(if: $all) } }";
+        post(query, variables("user", "u1", "all", true)).expectBody().jsonPath("$.errors").doesNotExist();
+        post(query, variables("all", true, "user", "u1")).expectBody().jsonPath("$.errors").doesNotExist();
+        post(query, variables("user", "u2", "all", true)).expectBody().jsonPath("$.errors").doesNotExist();
+
+        verify(paymentService, times(1)).findByUserId("u1");
+        verify(paymentService, times(1)).findByUserId("u2");
+    }
+
+    @Test
+    void unhintedFieldKeepsTheResponseOutOfTheCache() {
+        post("{ randomId }", Map.of()).expectHeader().doesNotExist("Cache-Control");
+        post("{ paymentMethods(userId: \"u1\") { id } randomId }", Map.of());
+        post("{ paymentMethods(userId: \"u1\") { id } randomId }", Map.of());
+
+        verify(paymentService, times(2)).findByUserId("u1");
+    }
+
+    @Test
+    void responseLivesAsLongAsItsShortestField() {
+        // sayHello allows 300s, paymentMethods 30s
+        post("{ sayHello paymentMethods(userId: \"u1\") { id } }", Map.of())
+                .expectHeader().cacheControl(CacheControl.maxAge(Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void mutationDropsResponsesThatReadItsTypes() {
+        when(customerClient.getCustomerById(any()))
+                .thenReturn(Mono.just(new CustomerDto("1", "Ada", "Lovelace", "ada@example.com", null, null)));
+        when(customerClient.deleteCustomer("1")).thenReturn(Mono.just(true));
+        String query = "{ clientCustomerById(id: \"1\") { id firstName } }";
+
+        post(query, Map.of()).expectBody().jsonPath("$.data.clientCustomerById.firstName").isEqualTo("Ada");
+        post(query, Map.of());
+        verify(customerClient, times(1)).getCustomerById(eq("1"));
+
+        post("mutation { deleteClientCustomer(id: \"1\") }", Map.of())
+                .expectBody().jsonPath("$.data.deleteClientCustomer").isEqualTo(true);
+        post(query, Map.of());
+        verify(customerClient, times(2)).getCustomerById(eq("1"));
+    }
+
+    @Test
+    void cachedDecimalsKeepTheirPrecision() {
+        BigDecimal decimal = new BigDecimal("12345678901234567.8901234");
+        ResponseCache.Key key = cache.key("{ get { bigDecimal } }", null, Map.of(), Map.of());
+
+        cache.put(key, Map.of("get", Map.of("bigDecimal", decimal)),
+                new CachePolicy(OperationDefinition.Operation.QUERY, Duration.ofSeconds(60), Set.of("AllScalarType")),
+                cache.generation());
+
+        assertThat(cache.get(key).data()).extractingByKey("get").asInstanceOf(MAP)
+                .containsEntry("bigDecimal", decimal);
+    }
+
+    @Test
+    void deferOverWebSocketIsNotCached() {
+        WebSocketGraphQlClient graphQlClient = WebSocketGraphQlClient
+                .builder(URI.create("ws://localhost:" + port + "/graphql"), new ReactorNettyWebSocketClient())
+                .build();
+        String query = "{ paymentMethods(userId: \"u1\") { id ... @defer { type } } }";
+        try {
+            for (int i = 0; i < 2; i++) {
+                List<Map<String, Object>> messages = graphQlClient.document(query)
+                        .executeSubscription()
+                        .map(response -> response.toMap())
+                        .collectList()
+                        .block(Duration.ofSeconds(10));
+
+                assertThat(messages).isNotEmpty();
+                assertThat(messages.get(0)).extractingByKey("data").asInstanceOf(MAP).containsKey("paymentMethods");
+            }
+        } finally {
+            graphQlClient.stop().block(Duration.ofSeconds(5));
+        }
+
+        verify(paymentService, times(2)).findByUserId("u1");
+        assertThat(cache.responses().estimatedSize()).isZero();
+    }
+
+    private static Map<String, Object> variables(String name1, Object value1, String name2, Object value2) {
+        Map<String, Object> variables = new LinkedHashMap<>();
+        variables.put(name1, value1);
+        variables.put(name2, value2);
+        return variables;
+    }
+
+    private WebTestClient.ResponseSpec post(String query, Map<String, Object> variables) {
+        return client.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("query", query, "variables", variables))
+                .exchange()
+                .expectStatus().isOk();
+    }
+}
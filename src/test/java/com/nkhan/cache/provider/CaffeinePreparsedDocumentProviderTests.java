@@ -0,0 +1,55 @@
+package com.nkhan.cache.provider;
+
+import com.nkhan.cache.config.DocumentCacheProperties;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.parser.Parser;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CaffeinePreparsedDocumentProviderTests {
+
+    private final AtomicInteger parses = new AtomicInteger();
+
+    private final Function<ExecutionInput, PreparsedDocumentEntry> parser = input -> {
+        parses.incrementAndGet();
+        return new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+    };
+
+    @Test
+    void hitCompletesSynchronouslyWithoutReparsing() {
+        var provider = new CaffeinePreparsedDocumentProvider(
+                new DocumentCacheProperties(100, DataSize.ofMegabytes(1), Duration.ofHours(1)));
+        var input = ExecutionInput.newExecutionInput("{ sayHello }").build();
+
+        var first = provider.getDocumentAsync(input, parser);
+        var second = provider.getDocumentAsync(input, parser);
+
+        assertThat(first).isDone();
+        assertThat(second).isDone();
+        assertThat(second.join()).isSameAs(first.join());
+        assertThat(parses).hasValue(1);
+        assertThat(provider.cache().stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void entryBudgetBoundsDistinctQueries() {
+        var provider = new CaffeinePreparsedDocumentProvider(
+                new DocumentCacheProperties(10, DataSize.ofMegabytes(1), Duration.ofHours(1)));
+
+        for (int i = 0; i < 1_000; i++) {
+            var input = ExecutionInput.newExecutionInput("{ sayHelloTo(userName: \"u%d\") }".formatted(i)).build();
+            provider.getDocumentAsync(input, parser);
+        }
+        provider.cache().cleanUp();
+
+        assertThat(provider.cache().estimatedSize()).isLessThanOrEqualTo(10);
+        assertThat(provider.cache().stats().evictionCount()).isGreaterThan(0);
+    }
+}
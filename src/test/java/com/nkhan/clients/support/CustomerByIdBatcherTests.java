@@ -0,0 +1,169 @@
+package com.nkhan.clients.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nkhan.clients.dto.CustomerDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.graphql.client.HttpGraphQlClient;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CustomerByIdBatcherTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @Test
+    void concurrentLookupsBecomeOneAliasedRequest() {
+        var batcher = new CustomerByIdBatcher(client(), Duration.ofMillis(50), 50, 4, Duration.ofSeconds(5),
+                new SimpleMeterRegistry());
+
+        List<CustomerDto> customers = Flux.range(0, 40)
+                .flatMap(i -> batcher.load("id-" + (i % 20)))
+                .collectList()
+                .block();
+
+        assertThat(requests).hasValue(1);
+        assertThat(customers).hasSize(40)
+                .allSatisfy(c -> assertThat(c.firstName()).isEqualTo("name-" + c.id()));
+        batcher.dispose();
+    }
+
+    @Test
+    void fullBatchIsSentWithoutWaitingForTheWindow() {
+        var batcher = new CustomerByIdBatcher(client(), Duration.ofSeconds(30), 10, 4, Duration.ofSeconds(5),
+                new SimpleMeterRegistry());
+
+        Flux.range(0, 30).flatMap(i -> batcher.load("id-" + i)).blockLast(Duration.ofSeconds(5));
+
+        assertThat(requests).hasValue(3);
+        batcher.dispose();
+    }
+
+    @Test
+    void missingCustomerCompletesEmpty() {
+        var batcher = new CustomerByIdBatcher(client(), Duration.ofMillis(5), 10, 4, Duration.ofSeconds(5),
+                new SimpleMeterRegistry());
+
+        assertThat(batcher.load("missing").block(Duration.ofSeconds(5))).isNull();
+        batcher.dispose();
+    }
+
+    @Test
+    void slowUpstreamSaturatingAllBatchSlotsStillServesEveryCaller() {
+        var batcher = new CustomerByIdBatcher(client(Duration.ofMillis(200)), Duration.ofMillis(2), 50, 4,
+                Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+        List<CustomerDto> customers = Flux.range(0, 3_000)
+                .flatMap(i -> batcher.load("id-" + i).subscribeOn(Schedulers.parallel()), 3_000)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        assertThat(customers).hasSize(3_000);
+        assertThat(batcher.load("late").block(Duration.ofSeconds(5)).firstName()).isEqualTo("name-late");
+        batcher.dispose();
+    }
+
+    @Test
+    void batchSlowerThanTheTimeoutFailsItsCallers() {
+        var batcher = new CustomerByIdBatcher(client(Duration.ofSeconds(10)), Duration.ofMillis(2), 10, 4,
+                Duration.ofMillis(100), new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> batcher.load("id-1").block(Duration.ofSeconds(5)))
+                .hasCauseInstanceOf(TimeoutException.class);
+        batcher.dispose();
+    }
+
+    @Test
+    void lookupsAfterDisposeAreRejected() {
+        var batcher = new CustomerByIdBatcher(client(), Duration.ofMillis(2), 10, 4, Duration.ofSeconds(5),
+                new SimpleMeterRegistry());
+        batcher.dispose();
+
+        assertThatThrownBy(() -> batcher.load("id-1").block(Duration.ofSeconds(5)))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    /**
+     * Upstream stub answering every alias {@code cN} with the customer for variable {@code idN},
+     * or {@code null} for the id "missing".
+     */
+    private HttpGraphQlClient client() {
+        return client(Duration.ZERO);
+    }
+
+    private HttpGraphQlClient client(Duration latency) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.incrementAndGet();
+                    Mono<ClientResponse> response = body(request).map(this::respond);
+                    return latency.isZero() ? response : response.delayElement(latency);
+                })
+                .build();
+        return HttpGraphQlClient.builder(webClient).url("http://customer-ql/graphql").build();
+    }
+
+    private ClientResponse respond(String requestBody) {
+        try {
+            JsonNode variables = objectMapper.readTree(requestBody).path("variables");
+            Map<String, Object> data = new LinkedHashMap<>();
+            variables.fields().forEachRemaining(e -> {
+                String id = e.getValue().asText();
+                data.put("c" + e.getKey().substring(2),
+                        "missing".equals(id) ? null : Map.of("id", id, "firstName", "name-" + id));
+            });
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("data", data);
+            return ClientResponse.create(HttpStatus.OK)
+                    .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                    .body(objectMapper.writeValueAsString(response))
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Mono<String> body(ClientRequest request) {
+        var mock = new MockClientHttpRequest(request.method(), request.url());
+        return request.body().insert(mock, new BodyInserter.Context() {
+            @Override
+            public List<HttpMessageWriter<?>> messageWriters() {
+                return ExchangeStrategies.withDefaults().messageWriters();
+            }
+
+            @Override
+            public Optional<ServerHttpRequest> serverRequest() {
+                return Optional.empty();
+            }
+
+            @Override
+            public Map<String, Object> hints() {
+                return Map.of();
+            }
+        }).then(Mono.defer(mock::getBodyAsString));
+    }
+}
@@ -0,0 +1,83 @@
+package com.nkhan.clients.support;
+
+import com.nkhan.clients.dto.CustomerDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerEntityCacheTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CustomerEntityCache cache = new CustomerEntityCache(100, Duration.ofMinutes(1), registry);
+
+    @Test
+    void readsAreServedAndCounted() {
+        cache.merge(customer("1", "Ada"), cache.version());
+
+        assertThat(cache.get("1").firstName()).isEqualTo("Ada");
+        assertThat(cache.get("2")).isNull();
+        assertThat(registry.get("customer.client.entities.reads").tag("outcome", "hit").counter().count()).isEqualTo(1);
+        assertThat(registry.get("customer.client.entities.reads").tag("outcome", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void evictionBetweenUpstreamCallAndResultDropsTheResult() {
+        cache.merge(customer("1", "Ada"), cache.version());
+
+        long read = cache.version();
+        cache.evict("1");
+        cache.merge(customer("1", "Ada"), read);
+
+        assertThat(cache.get("1")).as("customer deleted while the read was in flight").isNull();
+
+        cache.merge(customer("1", "Augusta"), cache.version());
+        assertThat(cache.get("1").firstName()).as("reads started after the eviction").isEqualTo("Augusta");
+    }
+
+    @Test
+    void readOlderThanAMutationDoesNotOverwriteIt() {
+        long read = cache.version();
+        cache.replace(customer("1", "Augusta"));
+        cache.merge(customer("1", "Ada"), read);
+
+        assertThat(cache.get("1").firstName()).isEqualTo("Augusta");
+    }
+
+    @Test
+    void readOlderThanInvalidateAllIsDropped() {
+        long read = cache.version();
+        cache.invalidateAll();
+        cache.merge(customer("1", "Ada"), read);
+
+        assertThat(cache.get("1")).isNull();
+    }
+
+    @Test
+    void forgottenEvictionsStillDropOlderReads() {
+        var small = new CustomerEntityCache(1, Duration.ofMinutes(1), registry);
+        long read = small.version();
+        small.evict("1");
+        small.evict("2");
+        small.evict("3");
+        small.merge(customer("1", "Ada"), read);
+        small.merge(customer("2", "Grace"), read);
+
+        assertThat(small.get("1")).isNull();
+        assertThat(small.get("2")).isNull();
+    }
+
+    @Test
+    void zeroEntriesDisablesTheCache() {
+        var disabled = new CustomerEntityCache(0, Duration.ofMinutes(1), registry);
+        disabled.merge(customer("1", "Ada"), disabled.version());
+
+        assertThat(disabled.get("1")).isNull();
+    }
+
+    private static CustomerDto customer(String id, String firstName) {
+        return new CustomerDto(id, firstName, "Lovelace", "ada@example.com", null, null);
+    }
+}
@@ -0,0 +1,114 @@
+package com.nkhan.clients.support;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescerTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private Mono<String> upstream() {
+        return Mono.fromSupplier(() -> "v" + calls.incrementAndGet()).delayElement(Duration.ofMillis(100));
+    }
+
+    @Test
+    void concurrentIdenticalReadsShareOneCall() {
+        var coalescer = new RequestCoalescer(Duration.ZERO, Duration.ZERO, 10, registry);
+        var key = new RequestCoalescer.Key("query { customers { id } }", Map.of());
+
+        var results = Flux.range(0, 500)
+                .flatMap(i -> coalescer.execute("customers", key, this::upstream), 500)
+                .collectList()
+                .block();
+
+        assertThat(results).hasSize(500).containsOnly("v1");
+        assertThat(calls).hasValue(1);
+        assertThat(registry.get("customer.client.reads.coalescing.ratio").gauge().value()).isEqualTo(499.0);
+
+        coalescer.execute("customers", key, this::upstream).block();
+        assertThat(calls).as("completed calls are not reused without a cache").hasValue(2);
+    }
+
+    @Test
+    void differentVariablesAreNotCoalesced() {
+        var coalescer = new RequestCoalescer(Duration.ZERO, Duration.ZERO, 10, registry);
+
+        Flux.range(0, 3)
+                .flatMap(i -> coalescer.execute("customerById",
+                        new RequestCoalescer.Key("query ($id: ID!) { customerById(id: $id) { id } }", Map.of("id", i)),
+                        this::upstream))
+                .blockLast();
+
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void staleEntryIsServedWhileRevalidating() throws InterruptedException {
+        var coalescer = new RequestCoalescer(Duration.ofMillis(300), Duration.ofSeconds(5), 10, registry);
+        var key = new RequestCoalescer.Key("query { customers { id } }", Map.of());
+
+        assertThat(coalescer.execute("customers", key, this::upstream).block()).isEqualTo("v1");
+        assertThat(coalescer.execute("customers", key, this::upstream).block()).isEqualTo("v1");
+        Thread.sleep(400);
+        assertThat(coalescer.execute("customers", key, this::upstream).block()).as("stale").isEqualTo("v1");
+        Thread.sleep(200);
+        assertThat(coalescer.execute("customers", key, this::upstream).block()).as("revalidated").isEqualTo("v2");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void readInFlightDuringInvalidationIsNeitherJoinedNorCached() {
+        var coalescer = new RequestCoalescer(Duration.ofSeconds(10), Duration.ZERO, 10, registry);
+        var key = new RequestCoalescer.Key("query { customers { id } }", Map.of());
+        List<Sinks.One<String>> upstreams = new CopyOnWriteArrayList<>();
+        Supplier<Mono<String>> call = () -> {
+            Sinks.One<String> upstream = Sinks.one();
+            upstreams.add(upstream);
+            return upstream.asMono();
+        };
+
+        var beforeMutation = coalescer.execute("customers", key, call).toFuture();
+        coalescer.invalidateAll();
+        var afterMutation = coalescer.execute("customers", key, call).toFuture();
+        assertThat(upstreams).as("a read after the invalidation starts its own call").hasSize(2);
+
+        upstreams.get(0).tryEmitValue("before");
+        assertThat(beforeMutation.join()).isEqualTo("before");
+        var joining = coalescer.execute("customers", key, call).toFuture();
+        assertThat(upstreams).as("the finished call did not drop the newer one").hasSize(2);
+
+        upstreams.get(1).tryEmitValue("after");
+        assertThat(afterMutation.join()).isEqualTo("after");
+        assertThat(joining.join()).isEqualTo("after");
+        assertThat(coalescer.execute("customers", key, call).block()).as("cached").isEqualTo("after");
+        assertThat(upstreams).hasSize(2);
+    }
+
+    @Test
+    void staleReadIsCountedOnce() throws InterruptedException {
+        var coalescer = new RequestCoalescer(Duration.ofMillis(100), Duration.ofSeconds(5), 10, registry);
+        var key = new RequestCoalescer.Key("query { customers { id } }", Map.of());
+
+        coalescer.execute("customers", key, this::upstream).block();
+        Thread.sleep(150);
+        coalescer.execute("customers", key, this::upstream).block();
+        Thread.sleep(200);
+
+        assertThat(registry.get("customer.client.reads").tag("outcome", "stale").counter().count()).isEqualTo(1);
+        assertThat(registry.find("customer.client.reads").tag("outcome", "coalesced").counter()).isNull();
+        assertThat(registry.get("customer.client.reads.coalescing.ratio").gauge().value()).isEqualTo(0.5);
+    }
+}
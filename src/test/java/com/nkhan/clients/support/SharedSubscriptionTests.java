@@ -0,0 +1,116 @@
+package com.nkhan.clients.support;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SharedSubscriptionTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger upstreamSubscriptions = new AtomicInteger();
+    private final AtomicInteger upstreamCancellations = new AtomicInteger();
+    private Sinks.Many<Integer> upstream;
+
+    @Test
+    void subscribersShareOneUpstreamSubscription() {
+        SharedSubscription<Integer> subscription = shared(16, SharedSubscription.OverflowPolicy.DROP_OLDEST);
+        List<Integer> first = new CopyOnWriteArrayList<>();
+        List<Integer> second = new CopyOnWriteArrayList<>();
+
+        var a = subscription.subscribe().subscribe(first::add);
+        var b = subscription.subscribe().subscribe(second::add);
+        upstream.tryEmitNext(1);
+        upstream.tryEmitNext(2);
+
+        assertThat(upstreamSubscriptions).hasValue(1);
+        assertThat(first).containsExactly(1, 2);
+        assertThat(second).containsExactly(1, 2);
+        assertThat(meterRegistry.get("customer.client.subscription.subscribers").gauge().value()).isEqualTo(2);
+
+        a.dispose();
+        assertThat(upstreamCancellations).hasValue(0);
+        b.dispose();
+        assertThat(upstreamCancellations).hasValue(1);
+        assertThat(subscription.subscriberCount()).isZero();
+    }
+
+    @Test
+    void failedUpstreamIsResubscribed() {
+        SharedSubscription<Integer> subscription = shared(16, SharedSubscription.OverflowPolicy.DROP_OLDEST);
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        subscription.subscribe().subscribe(received::add);
+
+        upstream.tryEmitNext(1);
+        upstream.tryEmitError(new IllegalStateException("socket closed"));
+        Sinks.Many<Integer> failed = upstream;
+
+        StepVerifier.create(Flux.interval(Duration.ofMillis(5)).takeUntil(i -> upstream != failed))
+                .thenConsumeWhile(i -> true)
+                .verifyComplete();
+        upstream.tryEmitNext(2);
+
+        assertThat(upstreamSubscriptions).hasValue(2);
+        assertThat(received).containsExactly(1, 2);
+        assertThat(meterRegistry.get("customer.client.subscription.resubscribes").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void slowSubscriberDropsEventsWithoutHoldingBackOthers() {
+        SharedSubscription<Integer> subscription = shared(4, SharedSubscription.OverflowPolicy.DROP_LATEST);
+        List<Integer> fast = new CopyOnWriteArrayList<>();
+        subscription.subscribe().subscribe(fast::add);
+
+        StepVerifier.create(subscription.subscribe(), 0)
+                .then(() -> {
+                    for (int i = 0; i < 10; i++) {
+                        upstream.tryEmitNext(i);
+                    }
+                    assertThat(meterRegistry.get("customer.client.subscription.lag.max").gauge().value())
+                            .isEqualTo(4);
+                })
+                .thenRequest(4)
+                .expectNext(0, 1, 2, 3)
+                .thenCancel()
+                .verify();
+
+        assertThat(fast).hasSize(10);
+        assertThat(meterRegistry.get("customer.client.subscription.dropped").counter().count()).isEqualTo(6);
+    }
+
+    @Test
+    void slowSubscriberIsDisconnected() {
+        SharedSubscription<Integer> subscription = shared(2, SharedSubscription.OverflowPolicy.DISCONNECT);
+
+        StepVerifier.create(subscription.subscribe(), 0)
+                .then(() -> {
+                    for (int i = 0; i < 3; i++) {
+                        upstream.tryEmitNext(i);
+                    }
+                })
+                .thenRequest(2)
+                .expectNext(0, 1)
+                .expectErrorMatches(Exceptions::isOverflow)
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(subscription.subscriberCount()).isZero();
+    }
+
+    private SharedSubscription<Integer> shared(int bufferSize, SharedSubscription.OverflowPolicy policy) {
+        return new SharedSubscription<>("test", () -> {
+            upstream = Sinks.many().multicast().directBestEffort();
+            return upstream.asFlux()
+                    .doOnSubscribe(s -> upstreamSubscriptions.incrementAndGet())
+                    .doOnCancel(upstreamCancellations::incrementAndGet);
+        }, bufferSize, policy, Duration.ofMillis(10), Duration.ofMillis(50), Duration.ZERO, meterRegistry);
+    }
+}
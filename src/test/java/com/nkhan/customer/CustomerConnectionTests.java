@@ -0,0 +1,87 @@
+package com.nkhan.customer;
+
+import com.nkhan.customer.loader.CustomerBulkLoader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "customer.page.max-size=2")
+@AutoConfigureWebTestClient
+class CustomerConnectionTests {
+
+    private static final String PAGE = """
+            query ($first: Int, $after: String) {
+              customersConnection(first: $first, after: $after) {
+                edges { cursor node { customerId } }
+                pageInfo { hasPreviousPage hasNextPage startCursor endCursor }
+              }
+            }""";
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private CustomerBulkLoader loader;
+
+    @BeforeEach
+    void storeIsLoaded() {
+        loader.completion().join();
+    }
+
+    @Test
+    void pagesFollowIdOrderAndStopAtTheEnd() {
+        WebTestClient.BodyContentSpec first = page(2, null)
+                .jsonPath("$.data.customersConnection.edges[*].node.customerId").isEqualTo(List.of(101, 102))
+                .jsonPath("$.data.customersConnection.pageInfo.hasPreviousPage").isEqualTo(false)
+                .jsonPath("$.data.customersConnection.pageInfo.hasNextPage").isEqualTo(true);
+        String endCursor = endCursor(first);
+        assertThat(endCursor).doesNotContain("102");
+
+        page(2, endCursor)
+                .jsonPath("$.data.customersConnection.edges[*].node.customerId").isEqualTo(List.of(103))
+                .jsonPath("$.data.customersConnection.pageInfo.hasPreviousPage").isEqualTo(true)
+                .jsonPath("$.data.customersConnection.pageInfo.hasNextPage").isEqualTo(false);
+    }
+
+    @Test
+    void pageSizeIsCappedByTheServer() {
+        page(100, null)
+                .jsonPath("$.data.customersConnection.edges.length()").isEqualTo(2)
+                .jsonPath("$.data.customersConnection.pageInfo.hasNextPage").isEqualTo(true);
+    }
+
+    @Test
+    void unreadableCursorIsABadRequest() {
+        page(2, "not-a-cursor")
+                .jsonPath("$.errors[0].extensions.classification").isEqualTo("BAD_REQUEST")
+                .jsonPath("$.errors[0].message").isEqualTo("Invalid cursor: not-a-cursor");
+    }
+
+    private WebTestClient.BodyContentSpec page(Integer first, String after) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("first", first);
+        variables.put("after", after);
+        return client.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("query", PAGE, "variables", variables))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody();
+    }
+
+    private static String endCursor(WebTestClient.BodyContentSpec body) {
+        String[] cursor = new String[1];
+        body.jsonPath("$.data.customersConnection.pageInfo.endCursor").value(String.class, c -> cursor[0] = c);
+        return cursor[0];
+    }
+}
@@ -0,0 +1,51 @@
+package com.nkhan.customer;
+
+import com.nkhan.customer.loader.CustomerBulkLoader;
+import com.nkhan.customer.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class OrderDataLoaderTests {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private CustomerBulkLoader loader;
+
+    @MockitoSpyBean
+    private OrderService orderService;
+
+    @Test
+    void allCustomersCostOneOrderServiceCall() {
+        loader.completion().join();
+
+        client.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("query", "{ customers { name orders { orderId description } } }"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.errors").doesNotExist()
+                .jsonPath("$.data.customers[?(@.name == 'John Doe')].orders.length()").isEqualTo(2)
+                .jsonPath("$.data.customers[?(@.name == 'Ali Khan')].orders.length()").isEqualTo(0);
+
+        verify(orderService, times(1)).getOrderByCustomerName(anyList());
+        verify(orderService, never()).getOrderByCustomerName(anyString());
+    }
+}
@@ -0,0 +1,70 @@
+package com.nkhan.customer.loader;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nkhan.customer.config.CustomerStoreProperties;
+import com.nkhan.customer.store.CustomerStore;
+import com.nkhan.customer.store.OrderStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerBulkLoaderTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void streamsMappedFileAcrossWindowsAndBatches() throws IOException {
+        Path file = dir.resolve("customers.json");
+        int rows = 10_000;
+        try (Writer out = Files.newBufferedWriter(file)) {
+            out.write("[");
+            for (int i = 1; i <= rows; i++) {
+                out.write("""
+                        %s{"name":"c%d","customerId":%d,"address":"Street %d","ignored":true,\
+                        "orders":[{"orderId":"o%d","description":"d"}]}"""
+                        .formatted(i == 1 ? "" : ",", i, i, i, i));
+            }
+            out.write("]");
+        }
+        var customers = new CustomerStore();
+        var orders = new OrderStore();
+        // Tiny windows and batches so the parser crosses many mapped regions and store segments.
+        var properties = new CustomerStoreProperties(new FileSystemResource(file), 1_000, DataSize.ofKilobytes(4));
+        var loader = new CustomerBulkLoader(properties, new ObjectMapper(), customers, orders);
+
+        loader.load();
+
+        LoadProgress progress = loader.completion().join();
+        assertThat(progress.state()).isEqualTo(LoadProgress.State.COMPLETED);
+        assertThat(progress.customers()).isEqualTo(rows);
+        assertThat(progress.orders()).isEqualTo(rows);
+        assertThat(customers.size()).isEqualTo(rows);
+        assertThat(customers.byId(rows).name()).isEqualTo("c" + rows);
+        assertThat(customers.addressContains("Street 9999")).hasSize(1);
+        assertThat(orders.findByCustomerName("c42")).singleElement()
+                .satisfies(order -> assertThat(order.orderId()).isEqualTo("o42"));
+    }
+
+    @Test
+    void emptyFileCompletesWithEmptyStores() throws IOException {
+        Path file = Files.createFile(dir.resolve("empty.json"));
+        var customers = new CustomerStore();
+        var loader = new CustomerBulkLoader(
+                new CustomerStoreProperties(new FileSystemResource(file), 10, DataSize.ofMegabytes(1)),
+                new ObjectMapper(), customers, new OrderStore());
+
+        loader.load();
+
+        assertThat(loader.progress().state()).isEqualTo(LoadProgress.State.COMPLETED);
+        assertThat(customers.size()).isZero();
+    }
+}
@@ -0,0 +1,53 @@
+package com.nkhan.customer.store;
+
+import com.nkhan.customer.model.Customer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerIndexTests {
+
+    private final CustomerIndex index = new CustomerIndex(IntStream.rangeClosed(1, 1_000)
+            .map(i -> 2_001 - 2 * i) // odd ids 1..1999, inserted in descending order
+            .mapToObj(id -> Customer.builder()
+                    .customerId(id)
+                    .name("c" + id)
+                    .address(id % 10 == 3 ? "Prince Nayef Road " + id : "King Fahd Road " + id)
+                    .build())
+            .toList());
+
+    @Test
+    void findsById() {
+        assertThat(index.byId(999).name()).isEqualTo("c999");
+        assertThat(index.byId(1000)).isNull();
+    }
+
+    @Test
+    void rangeIsInclusiveAndOrdered() {
+        assertThat(index.byIdRange(10, 15)).extracting(Customer::customerId).containsExactly(11, 13, 15);
+        assertThat(index.byIdRange(Integer.MIN_VALUE, 3)).extracting(Customer::customerId).containsExactly(1, 3);
+        assertThat(index.byIdRange(1_997, Integer.MAX_VALUE)).extracting(Customer::customerId).containsExactly(1_997, 1_999);
+        assertThat(index.byIdRange(20, 10)).isEmpty();
+    }
+
+    @Test
+    void addressContainsMatchesScan() {
+        for (String fragment : List.of("Nayef", "Road 13", "ad", "Fahd Road 1999", "Missing", "Road 3 ")) {
+            List<Customer> expected = index.all().stream().filter(c -> c.address().contains(fragment)).toList();
+            assertThat(index.addressContains(fragment)).as(fragment).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void firstDuplicateIdWins() {
+        var duplicates = new CustomerIndex(List.of(
+                Customer.builder().customerId(1).name("first").build(),
+                Customer.builder().customerId(1).name("second").build()));
+
+        assertThat(duplicates.size()).isEqualTo(1);
+        assertThat(duplicates.byId(1).name()).isEqualTo("first");
+    }
+}
@@ -0,0 +1,45 @@
+package com.nkhan.customer.store;
+
+import com.nkhan.customer.model.Customer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerStoreTests {
+
+    @Test
+    void iterateAfterMergesSegmentsInIdOrder() {
+        CustomerStore store = new CustomerStore();
+        store.append(List.of(customer(1, "first"), customer(4, "first"), customer(7, "first")));
+        store.append(List.of(customer(2, "second"), customer(4, "second"), customer(9, "second")));
+
+        List<Customer> after = new ArrayList<>();
+        store.iterateAfter(1).forEachRemaining(after::add);
+
+        assertThat(after).extracting(Customer::customerId).containsExactly(2, 4, 7, 9);
+        assertThat(after.get(1).name()).as("the earlier segment wins on a repeated id").isEqualTo("first");
+        assertThat(store.iterateAfter(9).hasNext()).isFalse();
+        assertThat(store.iterateAfter(Integer.MAX_VALUE).hasNext()).isFalse();
+    }
+
+    @Test
+    void iterateAfterMatchesAll() {
+        CustomerStore store = new CustomerStore();
+        store.append(List.of(customer(5, "a"), customer(3, "a")));
+        store.append(List.of(customer(3, "b"), customer(8, "b")));
+
+        Iterator<Customer> all = store.iterateAfter(Integer.MIN_VALUE);
+        List<Customer> iterated = new ArrayList<>();
+        all.forEachRemaining(iterated::add);
+
+        assertThat(iterated).containsExactlyElementsOf(store.all());
+    }
+
+    private static Customer customer(int id, String name) {
+        return Customer.builder().customerId(id).name(name).build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.nkhan.execution;
+
+import com.nkhan.payment.service.PaymentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = {
+        "graphql.execution.blocking.limits[payments]=1",
+        "graphql.execution.blocking.acquire-timeout=100ms"
+})
+@AutoConfigureWebTestClient(timeout = "10s")
+class BlockingExecutionTests {
+
+    private static final String QUERY = "{ paymentMethods(userId: \"u1\") { id } }";
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoSpyBean
+    private PaymentService paymentService;
+
+    @Test
+    void blockingFetcherRunsOnAVirtualThread() {
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            thread.set(Thread.currentThread());
+            return invocation.callRealMethod();
+        }).when(paymentService).findByUserId(anyString());
+
+        post().jsonPath("$.data.paymentMethods.length()").isEqualTo(3);
+
+        assertThat(thread.get().isVirtual()).isTrue();
+    }
+
+    @Test
+    void callsBeyondTheDownstreamLimitAreRejected() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(paymentService).findByUserId(anyString());
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> post()
+                .jsonPath("$.errors").doesNotExist());
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        post().jsonPath("$.errors[0].message").isEqualTo("Too many concurrent calls to payments, try again later");
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+
+        assertThat(meterRegistry.get("graphql.blocking.rejected").tag("downstream", "payments").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void pinnedVirtualThreadsAreRecorded() throws Exception {
+        Object monitor = new Object();
+        Thread.ofVirtual().start(() -> {
+            synchronized (monitor) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }).join();
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(meterRegistry.get("graphql.blocking.pinned").timer().count()).isPositive());
+    }
+
+    private WebTestClient.BodyContentSpec post() {
+        return client.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("query", QUERY))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody();
+    }
+}
@@ -0,0 +1,128 @@
+package com.nkhan.incremental;
+
+import com.nkhan.customer.loader.CustomerBulkLoader;
+import com.nkhan.customer.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.graphql.client.WebSocketGraphQlClient;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class IncrementalDeliveryTests {
+
+    private static final Duration ORDERS_DELAY = Duration.ofMillis(800);
+
+    private static final String QUERY = """
+            {
+              customers {
+                name
+                ... @defer(label: "orders") { orders { orderId } }
+              }
+            }""";
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private CustomerBulkLoader loader;
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoSpyBean
+    private OrderService orderService;
+
+    @BeforeEach
+    void slowOrders() {
+        loader.completion().join();
+        doAnswer(invocation -> ((Mono<?>) invocation.callRealMethod()).delayElement(ORDERS_DELAY))
+                .when(orderService).getOrderByCustomerName(anyList());
+    }
+
+    @Test
+    void multipartFlushesCustomersBeforeDeferredOrders() {
+        long start = System.nanoTime();
+        List<Long> arrivals = new ArrayList<>();
+        StringBuilder body = new StringBuilder();
+
+        client.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.parseMediaType("multipart/mixed; deferSpec=20220824"), MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("query", QUERY))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.MULTIPART_MIXED)
+                .returnResult(DataBuffer.class)
+                .getResponseBody()
+                .doOnNext(buffer -> {
+                    arrivals.add(System.nanoTime() - start);
+                    body.append(buffer.toString(StandardCharsets.UTF_8));
+                    DataBufferUtils.release(buffer);
+                })
+                .blockLast(Duration.ofSeconds(10));
+
+        Duration timeToFirstByte = Duration.ofNanos(arrivals.get(0));
+        Duration total = Duration.ofNanos(arrivals.get(arrivals.size() - 1));
+        assertThat(timeToFirstByte).isLessThan(ORDERS_DELAY);
+        assertThat(total).isGreaterThanOrEqualTo(ORDERS_DELAY);
+
+        String[] parts = body.toString().split("\r\n---");
+        assertThat(parts[1]).contains("\"name\":\"John Doe\"").contains("\"hasNext\":true").doesNotContain("orderId");
+        assertThat(body.toString()).contains("\"label\":\"orders\"").contains("\"orderId\":\"ORD-1001\"")
+                .contains("\"hasNext\":false").endsWith("\r\n-----\r\n");
+    }
+
+    @Test
+    void plainJsonRunsDeferredFragmentsInline() {
+        client.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("query", QUERY))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.errors").doesNotExist()
+                .jsonPath("$.hasNext").doesNotExist()
+                .jsonPath("$.data.customers[?(@.name == 'John Doe')].orders.length()").isEqualTo(2);
+    }
+
+    @Test
+    void webSocketSendsDeferredOrdersAsFurtherMessages() {
+        WebSocketGraphQlClient graphQlClient = WebSocketGraphQlClient
+                .builder(URI.create("ws://localhost:" + port + "/graphql"), new ReactorNettyWebSocketClient())
+                .build();
+        try {
+            List<Map<String, Object>> messages = graphQlClient.document(QUERY)
+                    .executeSubscription()
+                    .map(response -> response.toMap())
+                    .collectList()
+                    .block(Duration.ofSeconds(10));
+
+            assertThat(messages).hasSizeGreaterThanOrEqualTo(2);
+            assertThat(messages.get(0)).containsEntry("hasNext", true).containsKey("data");
+            assertThat(messages.get(messages.size() - 1)).containsEntry("hasNext", false).containsKey("incremental");
+        } finally {
+            graphQlClient.stop().block(Duration.ofSeconds(5));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.nkhan.scalar;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "graphql.scalars.high-throughput=true")
+@AutoConfigureWebTestClient
+class ScalarSerializationTests {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void extendedScalarsKeepTheirWireFormat() {
+        client.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("query", "{ get { currentYear currentMonth bigDecimal bigInteger date time dateTime } }"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.errors").doesNotExist()
+                .jsonPath("$.data.get.currentYear").isEqualTo(25)
+                .jsonPath("$.data.get.currentMonth").isEqualTo(9)
+                .jsonPath("$.data.get.bigDecimal").isEqualTo(9999.99)
+                .jsonPath("$.data.get.bigInteger").isEqualTo(1234567890)
+                .jsonPath("$.data.get.date").value(date ->
+                        assertThat((String) date).matches("\\d{4}-\\d{2}-\\d{2}"))
+                .jsonPath("$.data.get.time").value(time ->
+                        assertThat((String) time).matches("\\d{2}:\\d{2}:\\d{2}(\\.\\d+)?"))
+                .jsonPath("$.data.get.dateTime").value(dateTime ->
+                        assertThat((String) dateTime).matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}(Z|[+-]\\d{2}:\\d{2})"));
+    }
+
+    @Test
+    void applicationObjectMapperKeepsItsOwnFormats() throws Exception {
+        var dateTime = OffsetDateTime.of(2025, 9, 1, 10, 15, 30, 123_456_789, ZoneOffset.UTC);
+
+        assertThat(objectMapper.getRegisteredModuleIds()).doesNotContain("graphql-scalars");
+        assertThat(objectMapper.writeValueAsString(dateTime)).isEqualTo("\"2025-09-01T10:15:30.123456789Z\"");
+    }
+}
@@ -0,0 +1,90 @@
+package com.nkhan.scalar.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import graphql.GraphQLContext;
+import graphql.scalars.ExtendedScalars;
+import graphql.schema.GraphQLScalarType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FastScalarsTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .registerModule(new ScalarJsonModule());
+    private final Map<String, GraphQLScalarType> scalars = FastScalars.highThroughput().stream()
+            .collect(Collectors.toMap(GraphQLScalarType::getName, Function.identity()));
+    private final GraphQLContext passThrough = GraphQLContext.of(Map.of(FastScalars.PASS_THROUGH, true));
+    private final Random random = new Random(42);
+
+    @Test
+    void valuesOfTheScalarsOwnTypeAreNotConverted() {
+        BigDecimal decimal = new BigDecimal("9999.99");
+        BigInteger integer = BigInteger.valueOf(1234567890L);
+        LocalDate date = LocalDate.of(2024, 2, 29);
+
+        assertThat(serialize("BigDecimal", decimal)).isSameAs(decimal);
+        assertThat(serialize("BigInteger", integer)).isSameAs(integer);
+        assertThat(serialize("Date", date)).isSameAs(date);
+        assertThat(serialize("Byte", 7)).as("other types still coerce").isEqualTo((byte) 7);
+        assertThat(serialize("Date", "2024-02-29")).isEqualTo("2024-02-29");
+    }
+
+    @Test
+    void executionsWithoutPassThroughUseTheExtendedCoercing() {
+        LocalDate date = LocalDate.of(2024, 2, 29);
+
+        assertThat(scalars.get("Date").getCoercing().serialize(date, GraphQLContext.getDefault(), Locale.ENGLISH))
+                .isEqualTo("2024-02-29");
+    }
+
+    @Test
+    void temporalsAreWrittenExactlyAsTheExtendedScalarsFormatThem() throws Exception {
+        for (int i = 0; i < 10_000; i++) {
+            LocalDate date = LocalDate.ofEpochDay(random.nextLong(LocalDate.of(-50, 1, 1).toEpochDay(),
+                    LocalDate.of(12000, 1, 1).toEpochDay()));
+            LocalTime time = LocalTime.ofNanoOfDay(randomNanoOfDay());
+            ZoneOffset offset = ZoneOffset.ofTotalSeconds(random.nextInt(8) == 0
+                    ? random.nextInt(-18 * 3600, 18 * 3600)
+                    : random.nextInt(-72, 73) * 15 * 60);
+            OffsetDateTime dateTime = OffsetDateTime.of(date, time, offset);
+
+            assertSameJson(ExtendedScalars.Date, date);
+            assertSameJson(ExtendedScalars.LocalTime, time);
+            assertSameJson(ExtendedScalars.DateTime, dateTime);
+        }
+    }
+
+    /** Whole seconds, milliseconds, microseconds or nanoseconds, like real clocks produce. */
+    private long randomNanoOfDay() {
+        long nano = random.nextLong(86_400_000_000_000L);
+        long[] units = {1_000_000_000L, 1_000_000L, 1_000L, 1L};
+        long unit = units[random.nextInt(units.length)];
+        return nano - nano % unit;
+    }
+
+    private Object serialize(String scalar, Object value) {
+        return scalars.get(scalar).getCoercing().serialize(value, passThrough, Locale.ENGLISH);
+    }
+
+    private void assertSameJson(GraphQLScalarType extended, Object value) throws Exception {
+        Object formatted = extended.getCoercing().serialize(value, GraphQLContext.getDefault(), Locale.ENGLISH);
+        assertThat(objectMapper.writeValueAsString(serialize(extended.getName(), value)))
+                .as("%s %s", extended.getName(), value)
+                .isEqualTo(objectMapper.writeValueAsString(formatted));
+    }
+}
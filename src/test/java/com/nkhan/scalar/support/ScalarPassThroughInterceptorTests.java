@@ -0,0 +1,42 @@
+package com.nkhan.scalar.support;
+
+import graphql.ExecutionInput;
+import org.junit.jupiter.api.Test;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScalarPassThroughInterceptorTests {
+
+    private final ScalarPassThroughInterceptor interceptor = new ScalarPassThroughInterceptor();
+
+    @Test
+    void jsonRequestsPassValuesThrough() {
+        assertThat(passThrough(MediaType.APPLICATION_GRAPHQL_RESPONSE)).isTrue();
+        assertThat(passThrough(MediaType.ALL)).isTrue();
+    }
+
+    @Test
+    void serverSentEventsKeepTheExtendedCoercings() {
+        assertThat(passThrough(MediaType.TEXT_EVENT_STREAM)).isFalse();
+    }
+
+    private boolean passThrough(MediaType accept) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(accept));
+        var request = new WebGraphQlRequest(URI.create("http://localhost/graphql"), headers,
+                new LinkedMultiValueMap<>(), null, Map.of(), Map.of("query", "{ get { date } }"), "1", Locale.ENGLISH);
+        interceptor.intercept(request, next -> Mono.empty()).block();
+        ExecutionInput input = request.toExecutionInput();
+        return input.getGraphQLContext().getBoolean(FastScalars.PASS_THROUGH, false);
+    }
+}
@@ -0,0 +1,82 @@
+package com.nkhan.schema;
+
+import graphql.TypeResolutionEnvironment;
+import graphql.execution.TypeResolutionParameters;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class SealedTypeResolverTests {
+
+    sealed interface Shape permits Circle, Polygon {}
+
+    record Circle(double radius) implements Shape {}
+
+    sealed interface Polygon extends Shape permits Square, TriangleDto {}
+
+    record Square(double side) implements Polygon {}
+
+    @SchemaType("Triangle")
+    record TriangleDto(double base) implements Polygon {}
+
+    interface Open {}
+
+    private static final String SDL = """
+            interface Shape { id: ID }
+            type Circle implements Shape { id: ID }
+            type Square implements Shape { id: ID }
+            type Triangle implements Shape { id: ID }
+            type Query { shape: Shape }
+            """;
+
+    @Test
+    void resolvesNestedPermittedClassesByIdentity() {
+        TypeDefinitionRegistry registry = new SchemaParser().parse(SDL);
+        SealedTypeResolver resolver = SealedTypeResolver.of("Shape", Shape.class);
+        resolver.validate(registry);
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(registry, RuntimeWiring.newRuntimeWiring()
+                .type("Shape", wiring -> wiring.typeResolver(resolver))
+                .build());
+
+        assertThat(resolver.getType(environment(schema, new Circle(1))).getName()).isEqualTo("Circle");
+        assertThat(resolver.getType(environment(schema, new Square(1))).getName()).isEqualTo("Square");
+        assertThat(resolver.getType(environment(schema, new TriangleDto(1))).getName()).isEqualTo("Triangle");
+    }
+
+    @Test
+    void schemaTypeWithoutAClassFailsValidation() {
+        TypeDefinitionRegistry registry = new SchemaParser().parse(SDL + "type Hexagon implements Shape { id: ID }");
+
+        assertThatIllegalStateException()
+                .isThrownBy(() -> SealedTypeResolver.of("Shape", Shape.class).validate(registry))
+                .withMessageContaining("[Hexagon]");
+    }
+
+    @Test
+    void classWithoutASchemaTypeFailsValidation() {
+        TypeDefinitionRegistry registry = new SchemaParser().parse(SDL.replace("type Triangle implements Shape { id: ID }", ""));
+
+        assertThatIllegalStateException()
+                .isThrownBy(() -> SealedTypeResolver.of("Shape", Shape.class).validate(registry))
+                .withMessageContaining("[Triangle]");
+    }
+
+    @Test
+    void onlySealedHierarchiesAreAccepted() {
+        assertThatIllegalArgumentException().isThrownBy(() -> SealedTypeResolver.of("Open", Open.class));
+    }
+
+    private static TypeResolutionEnvironment environment(GraphQLSchema schema, Object value) {
+        return TypeResolutionParameters.newParameters()
+                .value(value)
+                .schema(schema)
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.nkhan.streaming;
+
+import com.nkhan.customer.loader.CustomerBulkLoader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "graphql.streaming.enabled=true",
+        "graphql.streaming.chunk-size=64B"
+})
+class StreamingResponseTests {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private CustomerBulkLoader loader;
+
+    @BeforeEach
+    void loaded() {
+        loader.completion().join();
+    }
+
+    @Test
+    void responseIsStreamedInChunks() {
+        client.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("query", "{ customers { name orders { orderId } } }"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectHeader().valueEquals(HttpHeaders.TRANSFER_ENCODING, "chunked")
+                .expectHeader().doesNotExist(HttpHeaders.CONTENT_LENGTH)
+                .expectBody()
+                .jsonPath("$.errors").doesNotExist()
+                .jsonPath("$.data.customers[?(@.name == 'John Doe')].orders.length()").isEqualTo(2);
+    }
+
+    @Test
+    void errorsAreStreamedWithTheRequestedMediaType() {
+        client.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_GRAPHQL_RESPONSE)
+                .bodyValue(Map.of("query", "{ noSuchField }"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_GRAPHQL_RESPONSE)
+                .expectBody()
+                .jsonPath("$.data").doesNotExist()
+                .jsonPath("$.errors[0].extensions.classification").isEqualTo("ValidationError");
+    }
+
+    @Test
+    void anyMediaTypeFallsBackToJson() {
+        client.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.ALL)
+                .bodyValue(Map.of("query", "{ customers { name } }"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectHeader().valueEquals(HttpHeaders.TRANSFER_ENCODING, "chunked")
+                .expectBody()
+                .jsonPath("$.data.customers").isArray();
+    }
+
+    @Test
+    void nonJsonRequestsAreRejectedLikeTheRegularEndpoint() {
+        client.post().uri("/graphql")
+                .contentType(MediaType.TEXT_PLAIN)
+                .bodyValue("{ customers { name } }")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    }
+
+    @Test
+    void deferredRequestsKeepTheMultipartRoute() {
+        client.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.parseMediaType("multipart/mixed; deferSpec=20220824"))
+                .bodyValue(Map.of("query", "{ customers { name ... @defer { orders { orderId } } } }"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.MULTIPART_MIXED);
+    }
+}
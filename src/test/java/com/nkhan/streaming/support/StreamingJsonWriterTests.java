@@ -0,0 +1,146 @@
+package com.nkhan.streaming.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingJsonWriterTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Netty buffer factory that remembers every buffer it hands out. Unpooled, so a released buffer is not
+     * recycled into a later allocation and its reference count stays meaningful.
+     */
+    private static final class TrackingBufferFactory extends NettyDataBufferFactory {
+
+        final List<NettyDataBuffer> allocated = new ArrayList<>();
+
+        TrackingBufferFactory() {
+            super(new UnpooledByteBufAllocator(false));
+        }
+
+        @Override
+        public NettyDataBuffer allocateBuffer(int initialCapacity) {
+            NettyDataBuffer buffer = super.allocateBuffer(initialCapacity);
+            allocated.add(buffer);
+            return buffer;
+        }
+
+        int live() {
+            return (int) allocated.stream().filter(b -> b.getNativeBuffer().refCnt() > 0).count();
+        }
+
+        long liveBytes() {
+            return allocated.stream().filter(b -> b.getNativeBuffer().refCnt() > 0).mapToLong(DataBuffer::capacity).sum();
+        }
+    }
+
+    @Test
+    void writesWhatTheObjectMapperWrites() throws Exception {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("text", "quote \" backslash \\ unicode é ✓ newline \n");
+        data.put("int", 42);
+        data.put("long", Long.MAX_VALUE);
+        data.put("double", 1.5e-7);
+        data.put("decimal", new BigDecimal("12345.6789000"));
+        data.put("flag", true);
+        data.put("missing", null);
+        data.put("empty", Map.of());
+        data.put("none", List.of());
+        data.put("nested", List.of(Map.of("a", List.of(1, 2, List.of())), Arrays.asList(null, "x")));
+        Map<String, Object> response = Map.of("data", data);
+
+        for (int chunkSize : new int[] {1, 7, 64, 16384}) {
+            TrackingBufferFactory factory = new TrackingBufferFactory();
+            String json = DataBufferUtils.join(new StreamingJsonWriter(objectMapper, chunkSize).write(response, factory))
+                    .map(buffer -> {
+                        String string = buffer.toString(StandardCharsets.UTF_8);
+                        DataBufferUtils.release(buffer);
+                        return string;
+                    })
+                    .block();
+
+            assertThat(json).isEqualTo(objectMapper.writeValueAsString(response));
+            assertThat(factory.live()).isZero();
+        }
+    }
+
+    @Test
+    void largeListIsStreamedWithBoundedMemory() throws Exception {
+        int items = 100_000;
+        int chunkSize = 16 * 1024;
+        List<Map<String, Object>> customers = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            customers.add(Map.of("id", i, "name", "Customer " + i, "email", "customer" + i + "@example.com"));
+        }
+        Map<String, Object> response = Map.of("data", Map.of("customers", customers));
+        TrackingBufferFactory factory = new TrackingBufferFactory();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        long[] maxLiveBytes = {0};
+
+        // A client reading one chunk at a time; a chunk is released once it has been "sent"
+        new StreamingJsonWriter(objectMapper, chunkSize).write(response, factory)
+                .subscribe(new BaseSubscriber<>() {
+                    @Override
+                    protected void hookOnSubscribe(Subscription subscription) {
+                        request(1);
+                    }
+
+                    @Override
+                    protected void hookOnNext(DataBuffer buffer) {
+                        maxLiveBytes[0] = Math.max(maxLiveBytes[0], factory.liveBytes());
+                        byte[] bytes = new byte[buffer.readableByteCount()];
+                        buffer.read(bytes);
+                        body.writeBytes(bytes);
+                        DataBufferUtils.release(buffer);
+                        request(1);
+                    }
+                });
+
+        JsonNode parsed = objectMapper.readTree(body.toByteArray());
+        assertThat(parsed.at("/data/customers")).hasSize(items);
+        assertThat(parsed.at("/data/customers/99999/email").asText()).isEqualTo("customer99999@example.com");
+        assertThat(body.size()).isGreaterThan(100 * chunkSize);
+        assertThat(factory.allocated).hasSizeGreaterThan(100);
+        // Never more than the chunk being written, however large the response
+        assertThat(maxLiveBytes[0]).isLessThanOrEqualTo(2L * chunkSize);
+        assertThat(factory.live()).isZero();
+    }
+
+    @Test
+    void cancellationReleasesThePendingBuffer() {
+        List<Integer> numbers = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            numbers.add(i);
+        }
+        TrackingBufferFactory factory = new TrackingBufferFactory();
+
+        new StreamingJsonWriter(objectMapper, 256).write(Map.of("data", numbers), factory)
+                .take(3)
+                .doOnNext(DataBufferUtils::release)
+                .blockLast();
+
+        assertThat(factory.allocated).hasSizeGreaterThanOrEqualTo(3);
+        assertThat(factory.live()).isZero();
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.nkhan.union.config;
+
+import com.nkhan.union.model.ArticleDto;
+import com.nkhan.union.model.ProductDto;
+import com.nkhan.union.model.SearchResult;
+import com.nkhan.union.model.UserDto;
+import com.nkhan.union.search.SearchIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchConfigTests {
+
+    private final SearchIndex<SearchResult> index = new SearchIndex<>(SearchConfig::id, SearchConfig::text, 3, 50);
+
+    @Test
+    void documentsOfDifferentTypesMayShareAnId() {
+        var user = new UserDto("1", "phoneguy", "phone@example.com");
+        var product = new ProductDto("1", "Phone Case", 19.99);
+        var article = new ArticleDto("1", "Choosing a phone", "Phones compared.");
+        index.upsertAll(List.of(user, product, article));
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.search("phone", 10, null)).containsExactlyInAnyOrder(user, product, article);
+    }
+
+    @Test
+    void pagesFollowTheQualifiedId() {
+        index.upsertAll(List.of(new UserDto("1", "phone", "a@example.com"),
+                new ProductDto("1", "Phone", 1.0)));
+
+        List<SearchResult> first = index.search("phone", 1, null);
+        List<SearchResult> second = index.search("phone", 1, SearchConfig.id(first.get(0)));
+
+        assertThat(second).hasSize(1).doesNotContainAnyElementsOf(first);
+    }
+}
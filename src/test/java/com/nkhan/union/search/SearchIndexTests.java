@@ -0,0 +1,110 @@
+package com.nkhan.union.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchIndexTests {
+
+    record Doc(String id, String text) {}
+
+    private final SearchIndex<Doc> index = new SearchIndex<>(Doc::id, Doc::text, 3, 50);
+
+    private List<String> search(String query, int first, String after) {
+        return index.search(query, first, after).stream().map(Doc::id).toList();
+    }
+
+    @Test
+    void ranksByBm25() {
+        index.upsertAll(List.of(
+                new Doc("long", "phone case cover screen protector charger cable adapter"),
+                new Doc("short", "phone case"),
+                new Doc("twice", "phone phone charger"),
+                new Doc("none", "laptop")));
+
+        assertThat(search("phone", 10, null)).containsExactly("twice", "short", "long");
+        assertThat(search("laptop", 10, null)).containsExactly("none");
+        assertThat(search("tablet", 10, null)).isEmpty();
+    }
+
+    @Test
+    void lastTokenMatchesAsPrefix() {
+        index.upsertAll(List.of(new Doc("1", "Samsung Galaxy"), new Doc("2", "Samsonite luggage"),
+                new Doc("3", "Spring Boot")));
+
+        assertThat(search("sams", 10, null)).containsExactlyInAnyOrder("1", "2");
+        assertThat(search("galaxy sam", 10, null)).first().isEqualTo("1");
+        assertThat(search("sams boot", 10, null)).as("only the last token is a prefix").containsExactly("3");
+    }
+
+    @Test
+    void pagesFollowTheLastSeenId() {
+        index.upsertAll(IntStream.range(0, 95)
+                .mapToObj(i -> new Doc("d" + i, "common " + "filler ".repeat(i % 7)))
+                .toList());
+
+        List<String> all = search("common", 1000, null);
+        List<String> paged = new ArrayList<>();
+        String after = null;
+        List<String> page;
+        do {
+            page = search("common", 10, after);
+            paged.addAll(page);
+            after = page.isEmpty() ? null : page.get(page.size() - 1);
+        } while (page.size() == 10);
+
+        assertThat(all).hasSize(95);
+        assertThat(paged).isEqualTo(all);
+        assertThat(search("common", 10, "unknown")).isEmpty();
+    }
+
+    @Test
+    void updatesAndDeletesAreVisibleImmediately() {
+        index.upsert(new Doc("1", "red apple"));
+        index.upsert(new Doc("2", "green apple"));
+
+        index.upsert(new Doc("1", "red cherry"));
+        assertThat(search("apple", 10, null)).containsExactly("2");
+        assertThat(search("cherry", 10, null)).containsExactly("1");
+
+        assertThat(index.delete("2")).isTrue();
+        assertThat(index.delete("2")).isFalse();
+        assertThat(search("apple", 10, null)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void compactionKeepsLiveDocuments() {
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 200; i++) {
+                index.upsert(new Doc("d" + i, "term" + i + " round" + round + " shared"));
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(200);
+        assertThat(search("shared", 500, null)).hasSize(200);
+        assertThat(search("round4", 500, null)).hasSize(200);
+        assertThat(search("round3", 500, null)).isEmpty();
+        assertThat(search("term42", 10, null)).containsExactly("d42");
+    }
+
+    @Test
+    void postingsRoundTripLargeGaps() {
+        PostingList postings = new PostingList();
+        int[] docs = {0, 1, 127, 128, 16_384, 2_000_000, Integer.MAX_VALUE - 1};
+        for (int i = 0; i < docs.length; i++) {
+            postings.add(docs[i], i + 1);
+        }
+        List<int[]> read = new ArrayList<>();
+        postings.forEach((doc, tf) -> read.add(new int[]{doc, tf}));
+
+        assertThat(read).hasSize(docs.length);
+        for (int i = 0; i < docs.length; i++) {
+            assertThat(read.get(i)).containsExactly(docs[i], i + 1);
+        }
+    }
+}